@@ -0,0 +1,33 @@
+import javalib.impworld.WorldScene;
+import mazebench.SceneWorkload;
+
+// the MazeWorld drawing operations measured by the scene benchmarks
+public class WorldWorkload implements SceneWorkload {
+  MazeWorld world;
+
+  public void setUp(int size, boolean raster) {
+    // the same maze on every run, so that runs can be compared
+    this.world = new MazeWorld(size, size, 1);
+    this.world.drawRaster = raster;
+    this.world.generationSpeed = new StepScheduler(Integer.MAX_VALUE);
+    this.world.onTick();
+    this.world.makeScene();
+    if (this.world.raster == null) {
+      // boards drawn as an image per cell still get a raster to copy from
+      this.world.drawRasterBoard(new WorldScene(0, 0));
+    }
+  }
+
+  public Object drawBoard() {
+    return this.world.drawBoard();
+  }
+
+  public Object makeScene() {
+    return this.world.makeScene();
+  }
+
+  public Object copyPixels() {
+    this.world.copyPixels(0, 0, this.world.raster.pixelWidth, this.world.raster.pixelHeight);
+    return this.world.boardImage;
+  }
+}
@@ -0,0 +1,55 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures drawing MazeWorld's scene, both the full board and a frame with nothing to repaint,
+// with an image per cell and wall and with the board drawn into a raster, and copying a whole
+// raster onto the scene's image on its own
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx6g", "-Djava.awt.headless=true" })
+public class SceneBenchmark {
+  @Param({ "10", "100", "300" })
+  int size;
+
+  @Param({ "false", "true" })
+  boolean raster;
+
+  SceneWorkload workload;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("WorldWorkload", SceneWorkload.class);
+    this.workload.setUp(this.size, this.raster);
+  }
+
+  @Benchmark
+  public Object drawBoard() {
+    return this.workload.drawBoard();
+  }
+
+  @Benchmark
+  public Object makeScene() {
+    return this.workload.makeScene();
+  }
+
+  @Benchmark
+  public Object copyPixels() {
+    return this.workload.copyPixels();
+  }
+}
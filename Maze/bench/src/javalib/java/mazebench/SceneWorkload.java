@@ -0,0 +1,18 @@
+package mazebench;
+
+// the MazeWorld drawing operations measured by the scene benchmarks
+public interface SceneWorkload {
+  // creates a size by size world whose maze has been fully shown, drawn into a raster or as an
+  // image per cell and wall
+  void setUp(int size, boolean raster);
+
+  // draws the whole board on a new scene
+  Object drawBoard();
+
+  // draws a frame in which nothing has changed
+  Object makeScene();
+
+  // copies every pixel of the board's raster onto the image placed on the scene, the part of
+  // redrawing a raster board that goes through javalib
+  Object copyPixels();
+}
@@ -0,0 +1,157 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import mazebench.MazeWorkload;
+
+// the engine operations measured by the benchmarks, on one generated maze
+public class EngineWorkload implements MazeWorkload {
+  MazeEngine engine = new MazeEngine();
+
+  // the maze being solved
+  MazeGrid grid;
+
+  // the maze's edges, their weights, and the edges sorted by weight
+  int[] edges;
+  int[] weights;
+  int[] sorted;
+
+  // the arena reused by every maze generated in place
+  MazeArena arena;
+
+  // the raster the maze is drawn into
+  MazeRaster raster;
+
+  // the query index and distance field over the maze, and the pairs of cells the queries ask
+  // about
+  TreeIndex index;
+  DistanceField field;
+  MazeSnapshot snapshot;
+  BatchSolver batch;
+  int[] from;
+  int[] to;
+
+  // the size and seed of the maze
+  int size;
+  long seed;
+
+  public void setUp(int size, long seed) {
+    this.size = size;
+    this.seed = seed;
+    this.grid = this.engine.generate(size, size, seed);
+    this.edges = this.engine.initEdges(this.grid);
+    this.weights = this.engine.edgeWeights(this.grid);
+    this.sorted = this.engine.sortEdges(this.edges, this.weights);
+    this.arena = new MazeArena(size, size);
+  }
+
+  public int newGrid() {
+    return new MazeGrid(this.size, this.size, this.seed).numCells;
+  }
+
+  public int initEdges() {
+    return this.engine.initEdges(this.grid).length;
+  }
+
+  public int edgeWeights() {
+    return this.engine.edgeWeights(this.grid)[0];
+  }
+
+  public int sortEdges() {
+    return this.engine.sortEdges(this.edges, this.weights)[0];
+  }
+
+  public int unionFind() {
+    DisjointSet sets = new DisjointSet(this.grid.numCells);
+    int joined = 0;
+    for (int i = 0; i < this.sorted.length; i++) {
+      if (sets.union(this.grid.edgeTo(this.sorted[i]), this.grid.edgeFrom(this.sorted[i]))) {
+        joined++;
+      }
+    }
+    return joined;
+  }
+
+  public int generate() {
+    return this.engine.generate(this.size, this.size, this.seed).numCarved;
+  }
+
+  public int generateInArena() {
+    return this.arena.generate(this.seed).numCarved;
+  }
+
+  public int generate(String algorithm) {
+    return this.engine.generate(this.size, this.size, this.seed, algorithm).numCarved;
+  }
+
+  public int generateParallel(ForkJoinPool pool) {
+    return new ParallelMazeGenerator(64, pool).generate(this.size, this.size, this.seed).numCarved;
+  }
+
+  public int solve(String algorithm) {
+    return this.engine.solve(this.grid, algorithm).path.length;
+  }
+
+  public int renderParallel(ForkJoinPool pool) {
+    if (this.raster == null) {
+      this.raster = new MazeRaster(this.size, this.size, 2);
+    }
+    this.raster.render(this.grid, cell -> 0xffffffff, MazeRaster.walls(this.grid), pool);
+    return this.raster.pixels[0];
+  }
+
+  public int solveParallel(ForkJoinPool pool) {
+    return new ParallelBfsSolver(pool).solve(this.grid, this.grid.start(), this.grid.goal())
+        .path.length;
+  }
+
+  public void setUpQueries(int count) {
+    this.index = new TreeIndex(this.grid);
+    this.field = new DistanceField(this.grid, this.grid.goal());
+    this.snapshot = new MazeSnapshot(this.grid);
+    SplittableRandom rand = new SplittableRandom(this.seed);
+    this.from = new int[count];
+    this.to = new int[count];
+    for (int i = 0; i < count; i++) {
+      this.from[i] = rand.nextInt(this.grid.numCells);
+      this.to[i] = rand.nextInt(this.grid.numCells);
+    }
+  }
+
+  public int buildIndex() {
+    return new TreeIndex(this.grid).order.length;
+  }
+
+  public int indexDistance(int pair) {
+    return this.index.distance(this.from[pair], this.to[pair]);
+  }
+
+  public int indexPath(int pair) {
+    return this.index.path(this.from[pair], this.to[pair]).length;
+  }
+
+  public int buildField() {
+    return new DistanceField(this.grid, this.grid.goal()).maxDistance;
+  }
+
+  public int fieldPath(int pair) {
+    return this.field.pathFrom(this.from[pair]).length;
+  }
+
+  public int solvePair(String algorithm, int pair) {
+    return this.engine.solver(algorithm).solve(this.grid, this.from[pair], this.to[pair])
+        .path.length;
+  }
+
+  public int solveBatch(ForkJoinPool pool) {
+    // kept between calls, so that its threads reuse their search buffers
+    if (this.batch == null || this.batch.pool != pool) {
+      this.batch = new BatchSolver(this.snapshot, pool);
+    }
+    int[][] paths = this.batch.solveAll(this.from, this.to);
+    int total = 0;
+    for (int i = 0; i < paths.length; i++) {
+      total += paths[i].length;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,74 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures each phase of generating a maze with Kruskal's, for square mazes from 10 by 10 to
+// 4000 by 4000 cells; run with -prof gc to see the allocation rate of each phase
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class GenerationBenchmark {
+  @Param({ "10", "100", "1000", "4000" })
+  int size;
+
+  @Param({ "1", "2" })
+  long seed;
+
+  MazeWorkload workload;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("EngineWorkload", MazeWorkload.class);
+    this.workload.setUp(this.size, this.seed);
+  }
+
+  @Benchmark
+  public int newGrid() {
+    return this.workload.newGrid();
+  }
+
+  @Benchmark
+  public int initEdges() {
+    return this.workload.initEdges();
+  }
+
+  @Benchmark
+  public int edgeWeights() {
+    return this.workload.edgeWeights();
+  }
+
+  @Benchmark
+  public int sortEdges() {
+    return this.workload.sortEdges();
+  }
+
+  @Benchmark
+  public int unionFind() {
+    return this.workload.unionFind();
+  }
+
+  @Benchmark
+  public int generate() {
+    return this.workload.generate();
+  }
+
+  @Benchmark
+  public int generateInArena() {
+    return this.workload.generateInArena();
+  }
+}
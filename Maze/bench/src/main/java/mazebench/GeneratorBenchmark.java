@@ -0,0 +1,47 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures generating a whole maze with each generation algorithm, for square mazes from 10 by
+// 10 to 1000 by 1000 cells; run with -prof gc to compare how much each one allocates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class GeneratorBenchmark {
+  @Param({ "10", "100", "1000" })
+  int size;
+
+  @Param({ "1", "2" })
+  long seed;
+
+  @Param({ "kruskal", "backtracker", "wilson", "eller" })
+  String algorithm;
+
+  MazeWorkload workload;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("EngineWorkload", MazeWorkload.class);
+    this.workload.setUp(this.size, this.seed);
+  }
+
+  @Benchmark
+  public int generate() {
+    return this.workload.generate(this.algorithm);
+  }
+}
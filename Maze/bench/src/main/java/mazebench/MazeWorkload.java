@@ -0,0 +1,76 @@
+package mazebench;
+
+import java.util.concurrent.ForkJoinPool;
+
+// the engine operations measured by the benchmarks
+// the engine is in the default package, which JMH does not allow benchmarks in and which other
+// packages cannot import, so the benchmarks reach it through this interface
+public interface MazeWorkload {
+  // generates the size by size maze the other operations work on
+  void setUp(int size, long seed);
+
+  // creates an empty grid of the maze's size
+  int newGrid();
+
+  // lists every edge of the maze
+  int initEdges();
+
+  // draws the random weight of every edge
+  int edgeWeights();
+
+  // orders the edges by weight
+  int sortEdges();
+
+  // runs the union/find part of Kruskal's over the sorted edges
+  int unionFind();
+
+  // generates a whole new maze
+  int generate();
+
+  // generates a whole new maze with Kruskal's in arrays kept from the last call
+  int generateInArena();
+
+  // generates a whole new maze with the given algorithm
+  int generate(String algorithm);
+
+  // generates a whole new maze with the tiled parallel generator on the given threads
+  int generateParallel(ForkJoinPool pool);
+
+  // solves the maze with the given algorithm, returning the length of the path
+  int solve(String algorithm);
+
+  // indexes the maze for distance and path queries and picks the given number of random pairs
+  // of cells to ask about
+  void setUpQueries(int count);
+
+  // builds a new query index over the maze
+  int buildIndex();
+
+  // finds the distance between the cells of the given pair with the index
+  int indexDistance(int pair);
+
+  // finds the path between the cells of the given pair with the index, returning its length
+  int indexPath(int pair);
+
+  // finds the distance from every cell to the goal in one search, returning the largest
+  int buildField();
+
+  // reads the path from the first cell of the given pair to the goal out of the distance
+  // field, returning its length
+  int fieldPath(int pair);
+
+  // searches for the path between the cells of the given pair, returning its length
+  int solvePair(String algorithm, int pair);
+
+  // searches for the paths between every pair of cells at once on the given threads, returning
+  // the total length of the paths
+  int solveBatch(ForkJoinPool pool);
+
+  // draws the maze into a raster with 2 pixel cells, with the rows split between the given
+  // threads
+  int renderParallel(ForkJoinPool pool);
+
+  // solves the maze with the level-synchronous parallel BFS on the given threads, returning the
+  // length of the path
+  int solveParallel(ForkJoinPool pool);
+}
@@ -0,0 +1,57 @@
+package mazebench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures generating a whole maze with the tiled parallel generator on 1 to 8 threads; compare
+// with GenerationBenchmark.generate for the speedup over the sequential generator
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class ParallelGenerationBenchmark {
+  @Param({ "1000", "4000" })
+  int size;
+
+  @Param({ "1", "2" })
+  long seed;
+
+  @Param({ "1", "2", "4", "8" })
+  int threads;
+
+  MazeWorkload workload;
+
+  ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("EngineWorkload", MazeWorkload.class);
+    this.workload.setUp(this.size, this.seed);
+    this.pool = new ForkJoinPool(this.threads);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.pool.shutdown();
+  }
+
+  @Benchmark
+  public int generateParallel() {
+    return this.workload.generateParallel(this.pool);
+  }
+}
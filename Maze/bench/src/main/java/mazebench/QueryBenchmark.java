@@ -0,0 +1,83 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures answering queries between random pairs of cells of one maze with the tree index,
+// and from random cells to the goal with the distance field, against searching for each path,
+// and what building the index and the field costs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class QueryBenchmark {
+  // number of pairs the queries cycle through
+  static final int PAIRS = 1024;
+
+  @Param({ "100", "1000" })
+  int size;
+
+  @Param({ "1", "2" })
+  long seed;
+
+  MazeWorkload workload;
+
+  // the pair the next query asks about
+  int pair = 0;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("EngineWorkload", MazeWorkload.class);
+    this.workload.setUp(this.size, this.seed);
+    this.workload.setUpQueries(PAIRS);
+  }
+
+  // moves on to the next pair
+  int nextPair() {
+    this.pair = (this.pair + 1) & (PAIRS - 1);
+    return this.pair;
+  }
+
+  @Benchmark
+  public int buildIndex() {
+    return this.workload.buildIndex();
+  }
+
+  @Benchmark
+  public int indexDistance() {
+    return this.workload.indexDistance(this.nextPair());
+  }
+
+  @Benchmark
+  public int indexPath() {
+    return this.workload.indexPath(this.nextPair());
+  }
+
+  @Benchmark
+  public int buildField() {
+    return this.workload.buildField();
+  }
+
+  @Benchmark
+  public int fieldPath() {
+    return this.workload.fieldPath(this.nextPair());
+  }
+
+  @Benchmark
+  public int searchPath() {
+    return this.workload.solvePair("bidi", this.nextPair());
+  }
+}
@@ -0,0 +1,47 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures solving one generated maze with each search algorithm, for square mazes from 10 by
+// 10 to 4000 by 4000 cells
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SolveBenchmark {
+  @Param({ "10", "100", "1000", "4000" })
+  int size;
+
+  @Param({ "1", "2" })
+  long seed;
+
+  @Param({ "dfs", "bfs", "astar", "bidi", "dijkstra" })
+  String algorithm;
+
+  MazeWorkload workload;
+
+  @Setup
+  public void setUp() {
+    this.workload = Workloads.load("EngineWorkload", MazeWorkload.class);
+    this.workload.setUp(this.size, this.seed);
+  }
+
+  @Benchmark
+  public int solve() {
+    return this.workload.solve(this.algorithm);
+  }
+}
@@ -0,0 +1,62 @@
+package mazebench;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// runs the benchmarks that take a threads parameter and reports, for every other combination
+// of parameters, the speedup over one thread and that speedup divided by the number of threads
+// it takes the same arguments as JMH itself, and runs the parallel benchmarks by default:
+//   java -cp Maze/bench/target/benchmarks.jar mazebench.Speedup [JMH options] [benchmark regex]
+public final class Speedup {
+  private Speedup() { }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions given = new CommandLineOptions(args);
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(given);
+    if (given.getIncludes().isEmpty()) {
+      options.include("Parallel.*Benchmark");
+    }
+    Collection<RunResult> results = new Runner(options.build()).run();
+
+    // the one-thread score of every benchmark and parameter combination
+    Map<String, Double> baselines = new HashMap<>();
+    for (RunResult result : results) {
+      if ("1".equals(result.getParams().getParam("threads"))) {
+        baselines.put(key(result), result.getPrimaryResult().getScore());
+      }
+    }
+
+    System.out.printf("%n%-64s %8s %14s %9s %9s%n", "Benchmark", "threads", "ops/s", "speedup",
+        "per core");
+    for (RunResult result : results) {
+      String threads = result.getParams().getParam("threads");
+      Double baseline = baselines.get(key(result));
+      if (threads != null && baseline != null) {
+        double score = result.getPrimaryResult().getScore();
+        double speedup = score / baseline;
+        System.out.printf("%-64s %8s %14.3f %9.2f %9.2f%n", key(result), threads, score, speedup,
+            speedup / Integer.parseInt(threads));
+      }
+    }
+  }
+
+  // names the benchmark and every parameter but the number of threads
+  static String key(RunResult result) {
+    StringBuilder key = new StringBuilder(result.getParams().getBenchmark());
+    for (String param : result.getParams().getParamsKeys()) {
+      if (!param.equals("threads")) {
+        key.append(' ').append(param).append('=').append(result.getParams().getParam(param));
+      }
+    }
+    return key.toString();
+  }
+}
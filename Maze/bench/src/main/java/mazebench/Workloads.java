@@ -0,0 +1,16 @@
+package mazebench;
+
+// loads the classes in the default package that implement the benchmarked operations
+final class Workloads {
+  private Workloads() { }
+
+  // creates an instance of the given default package class
+  static <T> T load(String className, Class<T> type) {
+    try {
+      return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+    }
+    catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot load the workload " + className, e);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+import java.util.*;
+
+// solves a maze with A*, always expanding the cell with the smallest distance from the start
+// plus Manhattan distance to the goal, which never overestimates in a grid
+class AStarSolver implements MazeSolver {
+  public MazeSolution solve(MazeGrid maze, int start, int goal) {
+    long startTime = System.nanoTime();
+    CellBitSet discovered = new CellBitSet(maze.numCells);
+    CellBitSet closed = new CellBitSet(maze.numCells);
+    int[] parent = new int[maze.numCells];
+    int[] cost = new int[maze.numCells];
+    int[] expanded = new int[maze.numCells];
+    int numExpanded = 0;
+    int peakFrontier = 1;
+    boolean found = false;
+
+    IntMinHeap open = new IntMinHeap();
+    discovered.set(start);
+    parent[start] = -1;
+    cost[start] = 0;
+    open.add(start, this.estimate(maze, start, goal));
+
+    while (!open.isEmpty() && !found) {
+      int next = open.removeMin();
+      if (next == goal) {
+        // target cell -- win!
+        found = true;
+      }
+      else if (!closed.get(next)) {
+        closed.set(next);
+        expanded[numExpanded] = next;
+        numExpanded++;
+
+        for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+          byte dir = MazeGrid.DIRECTIONS[i];
+          int neighbor = maze.neighbor(next, dir);
+          int newCost = cost[next] + 1;
+          if (maze.isOpen(next, dir)
+              && (!discovered.get(neighbor) || newCost < cost[neighbor])) {
+            discovered.set(neighbor);
+            parent[neighbor] = next;
+            cost[neighbor] = newCost;
+            open.add(neighbor, newCost + this.estimate(maze, neighbor, goal));
+          }
+        }
+        peakFrontier = Math.max(peakFrontier, open.size);
+      }
+      // otherwise the cell was already expanded through a shorter path -- discard it
+    }
+
+    int[] path = new int[0];
+    if (found) {
+      path = MazeSolution.pathTo(parent, goal);
+    }
+    return new MazeSolution(path, Arrays.copyOf(expanded, numExpanded), peakFrontier,
+        System.nanoTime() - startTime);
+  }
+
+  // returns the Manhattan distance between the given cells
+  int estimate(MazeGrid maze, int cell, int goal) {
+    return Math.abs(maze.x(cell) - maze.x(goal)) + Math.abs(maze.y(cell) - maze.y(goal));
+  }
+}
@@ -0,0 +1,43 @@
+import java.util.*;
+
+// generates mazes with the recursive backtracker: a random depth-first walk that carves into
+// an unvisited neighbor whenever it can and backs up when it cannot
+// the walk is kept on an explicit stack of cell indices, so large mazes cannot overflow the
+// call stack; its mazes have long winding corridors and few dead ends
+class BacktrackerMazeGenerator implements MazeGenerator {
+  public MazeGrid generate(int width, int height, long seed) {
+    MazeGrid grid = new MazeGrid(width, height, seed);
+    if (grid.numCells == 0) {
+      return grid;
+    }
+    SplittableRandom rand = new SplittableRandom(seed);
+    CellBitSet visited = new CellBitSet(grid.numCells);
+    // the directions of the current cell that lead to unvisited neighbors
+    byte[] choices = new byte[MazeGrid.DIRECTIONS.length];
+
+    IntDeque stack = new IntDeque();
+    stack.addFirst(grid.start());
+    visited.set(grid.start());
+    while (!stack.isEmpty()) {
+      int cell = stack.removeFirst();
+      int numChoices = 0;
+      for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+        byte dir = MazeGrid.DIRECTIONS[i];
+        if (grid.hasNeighbor(cell, dir) && !visited.get(grid.neighbor(cell, dir))) {
+          choices[numChoices] = dir;
+          numChoices++;
+        }
+      }
+      if (numChoices > 0) {
+        // come back to this cell once the branch we are about to carve is finished
+        byte dir = choices[rand.nextInt(numChoices)];
+        int next = grid.neighbor(cell, dir);
+        grid.carve(grid.edge(cell, dir));
+        visited.set(next);
+        stack.addFirst(cell);
+        stack.addFirst(next);
+      }
+    }
+    return grid;
+  }
+}
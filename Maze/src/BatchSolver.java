@@ -0,0 +1,87 @@
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+// finds the paths between many pairs of cells of one maze at once, spreading the pairs over a
+// pool of threads
+// every thread keeps its own search buffers and reuses them for each pair it is given, so the
+// only arrays made per pair are the paths themselves
+class BatchSolver {
+  // number of pairs each task solves
+  static final int CHUNK = 64;
+
+  // the maze being searched
+  MazeSnapshot maze;
+
+  // the threads the pairs are solved on
+  ForkJoinPool pool;
+
+  // the search buffers of each thread
+  ThreadLocal<SearchScratch> scratch;
+
+  BatchSolver(MazeSnapshot maze, ForkJoinPool pool) {
+    this.maze = maze;
+    this.pool = pool;
+    this.scratch = ThreadLocal.withInitial(() -> new SearchScratch(maze.numCells));
+  }
+
+  // returns the path from starts[i] to goals[i] for every i, or an empty path for a pair with
+  // no path between them
+  int[][] solveAll(int[] starts, int[] goals) {
+    if (starts.length != goals.length) {
+      throw new IllegalArgumentException("Every start needs a goal");
+    }
+    int[][] paths = new int[starts.length][];
+    int chunks = (starts.length + CHUNK - 1) / CHUNK;
+    this.pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+      SearchScratch buffers = this.scratch.get();
+      int end = Math.min((chunk + 1) * CHUNK, starts.length);
+      for (int i = chunk * CHUNK; i < end; i++) {
+        paths[i] = this.solve(starts[i], goals[i], buffers);
+      }
+    })).join();
+    return paths;
+  }
+
+  // finds the path between the two given cells with breadth-first search in the given buffers
+  // EFFECT: uses the buffers, leaving their bit set empty again
+  int[] solve(int start, int goal, SearchScratch buffers) {
+    int[] queue = buffers.queue;
+    int[] parent = buffers.parent;
+    CellBitSet discovered = buffers.discovered;
+    // every cell is queued at most once, so the queue never wraps around
+    int head = 0;
+    int tail = 1;
+    queue[0] = start;
+    discovered.set(start);
+    parent[start] = -1;
+    boolean found = start == goal;
+    while (head < tail && !found) {
+      int next = queue[head];
+      head++;
+      for (int d = 0; d < MazeGrid.DIRECTIONS.length && !found; d++) {
+        byte dir = MazeGrid.DIRECTIONS[d];
+        if (this.maze.isOpen(next, dir)) {
+          int neighbor = this.maze.neighbor(next, dir);
+          if (!discovered.get(neighbor)) {
+            discovered.set(neighbor);
+            parent[neighbor] = next;
+            queue[tail] = neighbor;
+            tail++;
+            found = neighbor == goal;
+          }
+        }
+      }
+    }
+
+    // only the queued cells were marked, so only they need to be cleared
+    for (int i = 0; i < tail; i++) {
+      discovered.clear(queue[i]);
+    }
+    if (found) {
+      return MazeSolution.pathTo(parent, goal);
+    }
+    else {
+      return new int[0];
+    }
+  }
+}
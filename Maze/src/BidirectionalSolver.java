@@ -0,0 +1,90 @@
+import java.util.*;
+
+// solves a maze with two breadth-first searches, one from the start and one from the goal,
+// growing whichever frontier is smaller by a whole level at a time until they meet
+class BidirectionalSolver implements MazeSolver {
+  public MazeSolution solve(MazeGrid maze, int start, int goal) {
+    long startTime = System.nanoTime();
+    // index 0 holds the search from the start, index 1 the search from the goal
+    IntDeque[] frontiers = { new IntDeque(), new IntDeque() };
+    CellBitSet[] discovered = { new CellBitSet(maze.numCells), new CellBitSet(maze.numCells) };
+    int[][] parents = { new int[maze.numCells], new int[maze.numCells] };
+    int[] expanded = new int[maze.numCells];
+    int numExpanded = 0;
+    int peakFrontier = 2;
+
+    int[] ends = { start, goal };
+    for (int side = 0; side < 2; side++) {
+      frontiers[side].addLast(ends[side]);
+      discovered[side].set(ends[side]);
+      parents[side][ends[side]] = -1;
+    }
+
+    int meet = -1;
+    if (start == goal) {
+      meet = start;
+    }
+    while (meet == -1 && !frontiers[0].isEmpty() && !frontiers[1].isEmpty()) {
+      int side = 1;
+      if (frontiers[0].size <= frontiers[1].size) {
+        side = 0;
+      }
+      int other = 1 - side;
+
+      for (int level = frontiers[side].size; level > 0 && meet == -1; level--) {
+        int next = frontiers[side].removeFirst();
+        expanded[numExpanded] = next;
+        numExpanded++;
+
+        for (int i = 0; i < MazeGrid.DIRECTIONS.length && meet == -1; i++) {
+          byte dir = MazeGrid.DIRECTIONS[i];
+          int neighbor = maze.neighbor(next, dir);
+          if (maze.isOpen(next, dir) && !discovered[side].get(neighbor)) {
+            discovered[side].set(neighbor);
+            parents[side][neighbor] = next;
+            if (discovered[other].get(neighbor)) {
+              // the two searches met -- win!
+              meet = neighbor;
+            }
+            else {
+              frontiers[side].addLast(neighbor);
+            }
+          }
+        }
+        peakFrontier = Math.max(peakFrontier, frontiers[0].size + frontiers[1].size);
+      }
+    }
+
+    int[] path = new int[0];
+    if (meet != -1) {
+      path = this.joinPaths(parents[0], parents[1], meet);
+    }
+    return new MazeSolution(path, Arrays.copyOf(expanded, numExpanded), peakFrontier,
+        System.nanoTime() - startTime);
+  }
+
+  // joins the path from the start to the meeting cell with the path from there to the goal,
+  // counting both halves first so that the path is the only array made
+  int[] joinPaths(int[] fromStart, int[] fromGoal, int meet) {
+    int firstHalf = 0;
+    for (int cell = meet; cell != -1; cell = fromStart[cell]) {
+      firstHalf++;
+    }
+    int secondHalf = 0;
+    for (int cell = fromGoal[meet]; cell != -1; cell = fromGoal[cell]) {
+      secondHalf++;
+    }
+    int[] path = new int[firstHalf + secondHalf];
+    int pos = firstHalf;
+    for (int cell = meet; cell != -1; cell = fromStart[cell]) {
+      pos--;
+      path[pos] = cell;
+    }
+    pos = firstHalf;
+    for (int cell = fromGoal[meet]; cell != -1; cell = fromGoal[cell]) {
+      path[pos] = cell;
+      pos++;
+    }
+    return path;
+  }
+}
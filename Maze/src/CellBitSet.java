@@ -0,0 +1,48 @@
+import java.lang.invoke.*;
+import java.util.*;
+
+// a fixed-size set of cell indices kept as one bit per cell, so checking and marking a cell
+// as visited are single word operations
+class CellBitSet {
+  // atomic access to single words, so that many threads can mark cells at once
+  static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  // the bits, 64 cells per word
+  long[] words;
+
+  CellBitSet(int size) {
+    this.words = new long[(size + 63) >>> 6];
+  }
+
+  // is the given cell in this set?
+  boolean get(int cell) {
+    return (this.words[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  // adds the given cell to this set
+  // EFFECT: sets the cell's bit
+  void set(int cell) {
+    this.words[cell >>> 6] |= 1L << cell;
+  }
+
+  // removes the given cell from this set
+  // EFFECT: clears the cell's bit
+  void clear(int cell) {
+    this.words[cell >>> 6] &= ~(1L << cell);
+  }
+
+  // adds the given cell to this set unless another thread already has, returning whether this
+  // call added it; safe to call from many threads at once
+  // EFFECT: sets the cell's bit atomically
+  boolean setAtomic(int cell) {
+    long bit = 1L << cell;
+    long before = (long) WORDS.getAndBitwiseOr(this.words, cell >>> 6, bit);
+    return (before & bit) == 0;
+  }
+
+  // removes every cell from this set, keeping the words for reuse
+  // EFFECT: clears every bit
+  void clear() {
+    Arrays.fill(this.words, 0L);
+  }
+}
@@ -0,0 +1,47 @@
+import java.util.concurrent.atomic.*;
+
+// union/find over the cells of a maze that many threads can use at once without locks
+// parents are changed with compare-and-set, finds halve paths when they can, and unions always
+// hang the root with the larger index under the smaller one, so no cycle can ever form
+class ConcurrentDisjointSet {
+  // the parent of every cell; a cell that is its own parent is a representative
+  AtomicIntegerArray parent;
+
+  ConcurrentDisjointSet(int size) {
+    this.parent = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      this.parent.set(i, i);
+    }
+  }
+
+  // returns the representative of the set containing the given cell
+  // EFFECT: points cells on the way at their grandparents, unless another thread got there first
+  int find(int cell) {
+    int parent = this.parent.get(cell);
+    while (parent != cell) {
+      int grandparent = this.parent.get(parent);
+      this.parent.compareAndSet(cell, parent, grandparent);
+      cell = parent;
+      parent = this.parent.get(cell);
+    }
+    return cell;
+  }
+
+  // merges the sets containing the two given cells, returning false if they were already joined
+  // EFFECT: points one representative at the other
+  boolean union(int a, int b) {
+    while (true) {
+      int rootA = this.find(a);
+      int rootB = this.find(b);
+      if (rootA == rootB) {
+        return false;
+      }
+      int low = Math.min(rootA, rootB);
+      int high = Math.max(rootA, rootB);
+      // fails if another thread has just linked the high root, in which case try again
+      if (this.parent.compareAndSet(high, high, low)) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+// a DisjointSet that also counts how much work its finds do, for the metrics of Kruskal's
+// kept apart from DisjointSet so that every other user of union/find runs the plain find
+class CountingDisjointSet extends DisjointSet {
+  // number of finds, the total number of parents they followed, and the most any one followed
+  long finds = 0;
+  long findSteps = 0;
+  int maxFindDepth = 0;
+
+  CountingDisjointSet(int size) {
+    super(size);
+  }
+
+  // returns the representative of the set containing the given cell
+  // EFFECT: points every other cell on the way to its grandparent, and counts the find and the
+  // parents it followed
+  int find(int cell) {
+    int depth = 0;
+    while (this.parent[cell] != cell) {
+      this.parent[cell] = this.parent[this.parent[cell]];
+      cell = this.parent[cell];
+      depth++;
+    }
+    this.finds++;
+    this.findSteps += depth;
+    this.maxFindDepth = Math.max(this.maxFindDepth, depth);
+    return cell;
+  }
+
+  // splits every set back into single cells, keeping the arrays for reuse
+  // EFFECT: makes every cell its own representative again and zeroes the find counts
+  void reset() {
+    super.reset();
+    this.finds = 0;
+    this.findSteps = 0;
+    this.maxFindDepth = 0;
+  }
+}
@@ -0,0 +1,115 @@
+import java.util.*;
+
+// solves a maze with Dijkstra's algorithm, expanding cells in order of the cheapest total cost
+// of the passages from the start to them
+// costs are non-negative ints by edge number, and the costs of the cells expanded never go
+// down, so the cells waiting to be expanded are kept in a radix heap rather than a binary heap
+// the total cost of a path is an int as well, and a search that would go past the largest int
+// stops with an error rather than wrapping around
+// a perfect maze has only one path between two cells, so costs there change which cells are
+// searched first; in a maze with loops they also choose the path
+class DijkstraSolver implements MazeSolver {
+  // the cost of moving through every passage by edge number, or null to use the terrain each
+  // maze is generated with
+  int[] costs;
+
+  DijkstraSolver(int[] costs) {
+    for (int i = 0; i < costs.length; i++) {
+      if (costs[i] < 0) {
+        throw new IllegalArgumentException("Passage costs cannot be negative");
+      }
+    }
+    this.costs = costs;
+  }
+
+  // a solver over the terrain MazeEngine.passageCosts reads from each maze's seed
+  DijkstraSolver() {
+    this.costs = null;
+  }
+
+  public MazeSolution solve(MazeGrid maze, int start, int goal) {
+    long startTime = System.nanoTime();
+    int[] passageCosts = this.costsFor(maze);
+    CellBitSet discovered = new CellBitSet(maze.numCells);
+    CellBitSet closed = new CellBitSet(maze.numCells);
+    int[] parent = new int[maze.numCells];
+    int[] cost = new int[maze.numCells];
+    int[] expanded = new int[maze.numCells];
+    int numExpanded = 0;
+    int peakFrontier = 1;
+    boolean found = false;
+
+    IntRadixHeap open = new IntRadixHeap();
+    discovered.set(start);
+    parent[start] = -1;
+    cost[start] = 0;
+    open.add(start, 0);
+
+    while (!open.isEmpty() && !found) {
+      int next = open.removeMin();
+      if (next == goal) {
+        // target cell -- win!
+        found = true;
+      }
+      else if (!closed.get(next)) {
+        closed.set(next);
+        expanded[numExpanded] = next;
+        numExpanded++;
+
+        for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+          byte dir = MazeGrid.DIRECTIONS[i];
+          if (maze.isOpen(next, dir)) {
+            int neighbor = maze.neighbor(next, dir);
+            int newCost = addCost(cost[next], passageCosts[maze.edge(next, dir)]);
+            if (!discovered.get(neighbor) || newCost < cost[neighbor]) {
+              discovered.set(neighbor);
+              parent[neighbor] = next;
+              cost[neighbor] = newCost;
+              open.add(neighbor, newCost);
+            }
+          }
+        }
+        peakFrontier = Math.max(peakFrontier, open.size);
+      }
+      // otherwise the cell was already expanded at a lower cost -- discard it
+    }
+
+    int[] path = new int[0];
+    if (found) {
+      path = MazeSolution.pathTo(parent, goal);
+    }
+    return new MazeSolution(path, Arrays.copyOf(expanded, numExpanded), peakFrontier,
+        System.nanoTime() - startTime);
+  }
+
+  // returns the costs this solver searches the given maze with
+  int[] costsFor(MazeGrid maze) {
+    if (this.costs == null) {
+      return MazeEngine.passageCosts(maze);
+    }
+    else if (this.costs.length < maze.numCells * 2) {
+      throw new IllegalArgumentException("Every edge of the maze needs a cost");
+    }
+    else {
+      return this.costs;
+    }
+  }
+
+  // returns the total cost of the passages along the given path, as the search adds it up
+  static int pathCost(MazeGrid maze, int[] costs, int[] path) {
+    int total = 0;
+    for (int i = 1; i < path.length; i++) {
+      total = addCost(total, costs[maze.edgeBetween(path[i - 1], path[i])]);
+    }
+    return total;
+  }
+
+  // returns the cost of a path of the given total cost followed by a passage of the given,
+  // non-negative cost
+  static int addCost(int total, int passage) {
+    if (total > Integer.MAX_VALUE - passage) {
+      throw new IllegalArgumentException("The cost of the path is too large for an int");
+    }
+    return total + passage;
+  }
+}
@@ -0,0 +1,61 @@
+import java.util.*;
+
+// union/find over the cells of a maze, indexed by y * width + x
+// finds compress paths by halving and unions attach the shorter tree under the taller one, so
+// Kruskal's runs in near-linear time
+class DisjointSet {
+  // the parent of every cell; a cell that is its own parent is a representative
+  int[] parent;
+
+  // an upper bound on the height of the tree under each representative
+  byte[] rank;
+
+  DisjointSet(int size) {
+    this.parent = new int[size];
+    this.rank = new byte[size];
+    for (int i = 0; i < size; i++) {
+      this.parent[i] = i;
+    }
+  }
+
+  // returns the representative of the set containing the given cell
+  // EFFECT: points every other cell on the way to its grandparent
+  int find(int cell) {
+    while (this.parent[cell] != cell) {
+      this.parent[cell] = this.parent[this.parent[cell]];
+      cell = this.parent[cell];
+    }
+    return cell;
+  }
+
+  // merges the sets containing the two given cells, returning false if they were already joined
+  // EFFECT: points the representative of lower rank at the one of higher rank
+  boolean union(int a, int b) {
+    int rootA = this.find(a);
+    int rootB = this.find(b);
+    if (rootA == rootB) {
+      return false;
+    }
+
+    if (this.rank[rootA] < this.rank[rootB]) {
+      this.parent[rootA] = rootB;
+    }
+    else if (this.rank[rootA] > this.rank[rootB]) {
+      this.parent[rootB] = rootA;
+    }
+    else {
+      this.parent[rootB] = rootA;
+      this.rank[rootA]++;
+    }
+    return true;
+  }
+
+  // splits every set back into single cells, keeping the arrays for reuse
+  // EFFECT: makes every cell its own representative again
+  void reset() {
+    for (int i = 0; i < this.parent.length; i++) {
+      this.parent[i] = i;
+    }
+    Arrays.fill(this.rank, (byte) 0);
+  }
+}
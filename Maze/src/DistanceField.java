@@ -0,0 +1,116 @@
+import java.util.*;
+
+// the distance from every cell of a maze to the nearest of one or more goal cells, found with a
+// single breadth-first search that starts from all of the goals at once
+// every cell also keeps the direction of its first move towards the nearest goal, so any number
+// of searchers heading for the same goals can each read their next move and how far they still
+// have to go in O(1), for the cost of one walk over the maze
+class DistanceField {
+  // the maze the distances are measured in
+  MazeGrid maze;
+
+  // the number of moves from every cell to the nearest goal, or -1 if no goal can be reached
+  int[] distance;
+
+  // the direction of the first move from every cell towards the nearest goal, or 0 for the
+  // goals and the cells that cannot reach one
+  byte[] toward;
+
+  // the largest distance of any cell that can reach a goal
+  int maxDistance = 0;
+
+  DistanceField(MazeGrid maze, int... goals) {
+    if (goals.length == 0) {
+      throw new IllegalArgumentException("A distance field needs at least one goal");
+    }
+    this.maze = maze;
+    this.distance = new int[maze.numCells];
+    this.toward = new byte[maze.numCells];
+    Arrays.fill(this.distance, -1);
+    this.search(goals);
+  }
+
+  // searches outwards from every goal at once, one level of distance at a time
+  // EFFECT: sets the distance and first move of every cell that can reach a goal
+  void search(int[] goals) {
+    int[] queue = new int[this.maze.numCells];
+    int end = 0;
+    for (int i = 0; i < goals.length; i++) {
+      if (this.distance[goals[i]] == -1) {
+        this.distance[goals[i]] = 0;
+        queue[end] = goals[i];
+        end++;
+      }
+    }
+
+    for (int head = 0; head < end; head++) {
+      int cell = queue[head];
+      int next = this.distance[cell] + 1;
+      for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+        byte dir = MazeGrid.DIRECTIONS[i];
+        if (this.maze.isOpen(cell, dir)) {
+          int neighbor = this.maze.neighbor(cell, dir);
+          if (this.distance[neighbor] == -1) {
+            this.distance[neighbor] = next;
+            this.toward[neighbor] = this.opposite(dir);
+            queue[end] = neighbor;
+            end++;
+          }
+        }
+      }
+    }
+    if (end > 0) {
+      this.maxDistance = this.distance[queue[end - 1]];
+    }
+  }
+
+  // returns the direction that leads back the way the given direction came
+  byte opposite(byte dir) {
+    if (dir == MazeGrid.RIGHT) {
+      return MazeGrid.LEFT;
+    }
+    else if (dir == MazeGrid.DOWN) {
+      return MazeGrid.UP;
+    }
+    else if (dir == MazeGrid.LEFT) {
+      return MazeGrid.RIGHT;
+    }
+    else {
+      return MazeGrid.DOWN;
+    }
+  }
+
+  // returns the number of moves from the given cell to the nearest goal, or -1 if it cannot
+  // reach one
+  int distance(int cell) {
+    return this.distance[cell];
+  }
+
+  // returns the cell to move to from the given cell to get closer to the nearest goal, the
+  // cell itself if it is a goal, or -1 if it cannot reach one
+  int nextStep(int cell) {
+    if (this.toward[cell] != 0) {
+      return this.maze.neighbor(cell, this.toward[cell]);
+    }
+    else if (this.distance[cell] == 0) {
+      return cell;
+    }
+    else {
+      return -1;
+    }
+  }
+
+  // returns the cells from the given cell to the nearest goal, in order, or an empty path if
+  // it cannot reach one
+  int[] pathFrom(int cell) {
+    if (this.distance[cell] == -1) {
+      return new int[0];
+    }
+    int[] path = new int[this.distance[cell] + 1];
+    path[0] = cell;
+    for (int i = 1; i < path.length; i++) {
+      path[i] = this.nextStep(path[i - 1]);
+    }
+    return path;
+  }
+}
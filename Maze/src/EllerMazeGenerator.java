@@ -0,0 +1,24 @@
+// generates mazes with Eller's algorithm, carving the rows from top to bottom
+// only the grid itself grows with the height of the maze; the generation works in memory
+// proportional to its width
+class EllerMazeGenerator implements MazeGenerator {
+  public MazeGrid generate(int width, int height, long seed) {
+    MazeGrid grid = new MazeGrid(width, height, seed);
+    EllerRows rows = new EllerRows(width, height, seed);
+    byte[] passages = new byte[width];
+    while (!rows.isDone()) {
+      int y = rows.row;
+      rows.nextRow(passages);
+      for (int x = 0; x < width; x++) {
+        int cell = grid.index(x, y);
+        if ((passages[x] & MazeGrid.RIGHT) != 0) {
+          grid.carve(grid.edge(cell, MazeGrid.RIGHT));
+        }
+        if ((passages[x] & MazeGrid.DOWN) != 0) {
+          grid.carve(grid.edge(cell, MazeGrid.DOWN));
+        }
+      }
+    }
+    return grid;
+  }
+}
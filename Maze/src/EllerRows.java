@@ -0,0 +1,129 @@
+import java.util.*;
+
+// generates a maze with Eller's algorithm one row at a time, remembering only which set each
+// cell of the current row is in, so its memory is proportional to the width of the maze and
+// the maze can be as tall as needed
+// each row randomly joins neighboring cells of different sets and then opens at least one
+// passage down from every set; the last row joins every set that is left
+class EllerRows {
+  // number of cells in each row
+  int width;
+
+  // number of rows in the maze
+  int height;
+
+  // the next row to generate
+  int row = 0;
+
+  SplittableRandom rand;
+
+  // random bits not yet used, drawn 64 at a time since every cell needs one or two
+  long bits = 0;
+
+  // number of bits left in bits
+  int bitsLeft = 0;
+
+  // the set each column of the current row is in, numbered from 0 to width - 1
+  int[] label;
+
+  // which sets of the current row have been joined by passages to the right
+  DisjointSet sets;
+
+  // the rightmost column of each set in the current row, by representative
+  int[] lastColumn;
+
+  // the sets that have a passage down from the current row, by representative
+  CellBitSet hasDown;
+
+  // the sets that have been given a number for the next row, by representative
+  CellBitSet used;
+
+  EllerRows(int width, int height, long seed) {
+    this.width = width;
+    this.height = height;
+    this.rand = new SplittableRandom(seed);
+    this.label = new int[width];
+    this.sets = new DisjointSet(width);
+    this.lastColumn = new int[width];
+    this.hasDown = new CellBitSet(width);
+    this.used = new CellBitSet(width);
+    for (int x = 0; x < width; x++) {
+      this.label[x] = x;
+    }
+  }
+
+  // has every row been generated?
+  boolean isDone() {
+    return this.row >= this.height;
+  }
+
+  // returns a random choice that is true half of the time
+  // EFFECT: uses up one random bit, drawing 64 more when they run out
+  boolean randomBit() {
+    if (this.bitsLeft == 0) {
+      this.bits = this.rand.nextLong();
+      this.bitsLeft = 64;
+    }
+    boolean bit = (this.bits & 1) != 0;
+    this.bits >>>= 1;
+    this.bitsLeft--;
+    return bit;
+  }
+
+  // generates the next row, storing the RIGHT and DOWN passages of each of its cells
+  // EFFECT: overwrites the first width entries of passages and moves on to the next row
+  void nextRow(byte[] passages) {
+    if (this.isDone()) {
+      throw new IllegalStateException("Every row has already been generated");
+    }
+    boolean last = this.row + 1 == this.height;
+    Arrays.fill(passages, 0, this.width, (byte) 0);
+
+    // join neighbors in different sets at random, or always in the last row
+    for (int x = 0; x + 1 < this.width; x++) {
+      if (this.sets.find(this.label[x]) != this.sets.find(this.label[x + 1])
+          && (last || this.randomBit())) {
+        passages[x] |= MazeGrid.RIGHT;
+        this.sets.union(this.label[x], this.label[x + 1]);
+      }
+    }
+
+    if (!last) {
+      // open passages down at random, and always from the last cell of a set without one
+      for (int x = 0; x < this.width; x++) {
+        this.lastColumn[this.sets.find(this.label[x])] = x;
+      }
+      this.hasDown.clear();
+      for (int x = 0; x < this.width; x++) {
+        int root = this.sets.find(this.label[x]);
+        if (this.randomBit() || (this.lastColumn[root] == x && !this.hasDown.get(root))) {
+          passages[x] |= MazeGrid.DOWN;
+          this.hasDown.set(root);
+        }
+      }
+
+      // cells below a passage stay in their set, which is numbered after its leftmost cell
+      // below a passage, and every other cell starts a set of its own numbered after itself;
+      // the numbers stay distinct, and stay close to the columns that use them
+      for (int x = 0; x < this.width; x++) {
+        this.label[x] = this.sets.find(this.label[x]);
+      }
+      this.used.clear();
+      for (int x = 0; x < this.width; x++) {
+        if ((passages[x] & MazeGrid.DOWN) == 0) {
+          this.label[x] = x;
+        }
+        else {
+          int root = this.label[x];
+          if (!this.used.get(root)) {
+            this.used.set(root);
+            this.lastColumn[root] = x;
+          }
+          this.label[x] = this.lastColumn[root];
+        }
+      }
+      this.sets.reset();
+    }
+    this.row++;
+  }
+}
@@ -0,0 +1,41 @@
+import jdk.jfr.*;
+
+// recorded by Java Flight Recorder each time the engine generates a maze
+@Name("maze.Generation")
+@Label("Maze Generation")
+@Category("Maze")
+class GenerationEvent extends Event {
+  @Label("Generator")
+  String generator;
+
+  @Label("Cells")
+  int cells;
+
+  @Label("Edges Examined")
+  long edgesExamined;
+
+  @Label("Edges Rejected")
+  long edgesRejected;
+
+  @Label("Average Find Depth")
+  double averageFindDepth;
+
+  @Label("Maximum Find Depth")
+  int maxFindDepth;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  // copies the generation metrics into this event
+  // EFFECT: sets every field
+  void set(MazeMetrics metrics) {
+    this.generator = metrics.generator;
+    this.cells = metrics.width * metrics.height;
+    this.edgesExamined = metrics.edgesExamined;
+    this.edgesRejected = metrics.edgesRejected;
+    this.averageFindDepth = metrics.averageFindDepth();
+    this.maxFindDepth = metrics.maxFindDepth;
+    this.allocatedBytes = metrics.generationBytes;
+  }
+}
@@ -0,0 +1,75 @@
+// a growable ring buffer of ints that can be used as a stack or a queue, so the search
+// worklists hold cell indices with O(1) pushes and pops and no boxing
+class IntDeque {
+  // the buffer, whose length is always a power of two
+  int[] items;
+
+  // position of the first item in the buffer
+  int head = 0;
+
+  // number of items in the deque
+  int size = 0;
+
+  IntDeque(int capacity) {
+    this.items = new int[Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1];
+  }
+
+  IntDeque() {
+    this(16);
+  }
+
+  // is this deque empty?
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  // adds the given item to the front of this deque
+  // EFFECT: grows the buffer if it is full
+  void addFirst(int item) {
+    if (this.size == this.items.length) {
+      this.grow();
+    }
+    this.head = (this.head - 1) & (this.items.length - 1);
+    this.items[this.head] = item;
+    this.size++;
+  }
+
+  // adds the given item to the back of this deque
+  // EFFECT: grows the buffer if it is full
+  void addLast(int item) {
+    if (this.size == this.items.length) {
+      this.grow();
+    }
+    this.items[(this.head + this.size) & (this.items.length - 1)] = item;
+    this.size++;
+  }
+
+  // removes and returns the item at the front of this deque
+  int removeFirst() {
+    if (this.size == 0) {
+      throw new IllegalStateException("Cannot remove from an empty deque");
+    }
+    int item = this.items[this.head];
+    this.head = (this.head + 1) & (this.items.length - 1);
+    this.size--;
+    return item;
+  }
+
+  // removes every item, keeping the buffer for reuse
+  // EFFECT: empties this deque
+  void clear() {
+    this.head = 0;
+    this.size = 0;
+  }
+
+  // doubles the size of the buffer, moving the items to the start of it
+  // EFFECT: replaces the buffer with one twice as large
+  void grow() {
+    int[] bigger = new int[this.items.length * 2];
+    int firstPart = Math.min(this.size, this.items.length - this.head);
+    System.arraycopy(this.items, this.head, bigger, 0, firstPart);
+    System.arraycopy(this.items, 0, bigger, firstPart, this.size - firstPart);
+    this.items = bigger;
+    this.head = 0;
+  }
+}
@@ -0,0 +1,92 @@
+import java.util.*;
+
+// a growable binary min-heap of ints ordered by int keys, kept in two parallel arrays so that
+// no item is ever boxed
+class IntMinHeap {
+  // the items, in heap order
+  int[] items;
+
+  // the key of each item
+  int[] keys;
+
+  // number of items in the heap
+  int size = 0;
+
+  IntMinHeap(int capacity) {
+    this.items = new int[Math.max(capacity, 1)];
+    this.keys = new int[Math.max(capacity, 1)];
+  }
+
+  IntMinHeap() {
+    this(16);
+  }
+
+  // is this heap empty?
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  // returns the smallest key in this heap
+  int minKey() {
+    if (this.size == 0) {
+      throw new IllegalStateException("Cannot look into an empty heap");
+    }
+    return this.keys[0];
+  }
+
+  // adds the given item with the given key
+  // EFFECT: grows the arrays if they are full and sifts the item up into place
+  void add(int item, int key) {
+    if (this.size == this.items.length) {
+      this.items = Arrays.copyOf(this.items, this.size * 2);
+      this.keys = Arrays.copyOf(this.keys, this.size * 2);
+    }
+    int pos = this.size;
+    this.size++;
+    while (pos > 0) {
+      int parent = (pos - 1) >> 1;
+      if (this.keys[parent] <= key) {
+        break;
+      }
+      this.items[pos] = this.items[parent];
+      this.keys[pos] = this.keys[parent];
+      pos = parent;
+    }
+    this.items[pos] = item;
+    this.keys[pos] = key;
+  }
+
+  // removes and returns the item with the smallest key
+  // EFFECT: moves the last item to the top and sifts it down into place
+  int removeMin() {
+    if (this.size == 0) {
+      throw new IllegalStateException("Cannot remove from an empty heap");
+    }
+    int min = this.items[0];
+    this.size--;
+    int item = this.items[this.size];
+    int key = this.keys[this.size];
+    int pos = 0;
+    while (pos * 2 + 1 < this.size) {
+      int child = pos * 2 + 1;
+      if (child + 1 < this.size && this.keys[child + 1] < this.keys[child]) {
+        child++;
+      }
+      if (key <= this.keys[child]) {
+        break;
+      }
+      this.items[pos] = this.items[child];
+      this.keys[pos] = this.keys[child];
+      pos = child;
+    }
+    this.items[pos] = item;
+    this.keys[pos] = key;
+    return min;
+  }
+
+  // removes every item, keeping the arrays for reuse
+  // EFFECT: empties this heap
+  void clear() {
+    this.size = 0;
+  }
+}
@@ -0,0 +1,109 @@
+import java.util.*;
+
+// a monotone priority queue of ints ordered by non-negative int keys, for searches like
+// Dijkstra's that never add a key smaller than the last one removed
+// an item sits in the bucket numbered by the highest bit in which its key differs from the last
+// key removed, so bucket 0 holds the items tied with it; when bucket 0 runs out, the lowest
+// bucket that is not empty is spread over the buckets below it, and each item moves down at
+// most 32 times in all, so every operation takes amortized constant time
+class IntRadixHeap {
+  // one bucket for keys equal to the last key removed, and one for each bit they can differ in
+  static final int BUCKETS = 33;
+
+  // the items and keys of every bucket, in no particular order
+  int[][] items = new int[BUCKETS][];
+  int[][] keys = new int[BUCKETS][];
+
+  // number of items in every bucket
+  int[] counts = new int[BUCKETS];
+
+  // the key of the item removed last, which no key added may be smaller than
+  int last = 0;
+
+  // number of items in the heap
+  int size = 0;
+
+  IntRadixHeap() {
+    for (int i = 0; i < BUCKETS; i++) {
+      this.items[i] = new int[16];
+      this.keys[i] = new int[16];
+    }
+  }
+
+  // is this heap empty?
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  // returns the bucket an item with the given key belongs in
+  int bucket(int key) {
+    return 32 - Integer.numberOfLeadingZeros(key ^ this.last);
+  }
+
+  // adds the given item with the given key
+  // EFFECT: puts the item in its bucket, growing the bucket if it is full
+  void add(int item, int key) {
+    if (key < this.last) {
+      throw new IllegalArgumentException("Keys cannot be smaller than the last key removed");
+    }
+    this.push(this.bucket(key), item, key);
+    this.size++;
+  }
+
+  // adds the given item with the given key to the given bucket
+  // EFFECT: grows the bucket if it is full
+  void push(int bucket, int item, int key) {
+    int count = this.counts[bucket];
+    if (count == this.items[bucket].length) {
+      this.items[bucket] = Arrays.copyOf(this.items[bucket], count * 2);
+      this.keys[bucket] = Arrays.copyOf(this.keys[bucket], count * 2);
+    }
+    this.items[bucket][count] = item;
+    this.keys[bucket][count] = key;
+    this.counts[bucket] = count + 1;
+  }
+
+  // removes and returns an item with the smallest key
+  // EFFECT: when no item is tied with the last key removed, makes the smallest key the last
+  // one and spreads its bucket over the buckets below
+  int removeMin() {
+    if (this.size == 0) {
+      throw new IllegalStateException("Cannot remove from an empty heap");
+    }
+    if (this.counts[0] == 0) {
+      int bucket = 1;
+      while (this.counts[bucket] == 0) {
+        bucket++;
+      }
+      int count = this.counts[bucket];
+      int[] bucketItems = this.items[bucket];
+      int[] bucketKeys = this.keys[bucket];
+      int min = bucketKeys[0];
+      for (int i = 1; i < count; i++) {
+        min = Math.min(min, bucketKeys[i]);
+      }
+      // every key in the bucket now differs from the last key in a lower bit than before
+      this.last = min;
+      this.counts[bucket] = 0;
+      for (int i = 0; i < count; i++) {
+        this.push(this.bucket(bucketKeys[i]), bucketItems[i], bucketKeys[i]);
+      }
+    }
+    this.size--;
+    this.counts[0]--;
+    return this.items[0][this.counts[0]];
+  }
+
+  // returns the key of the item removed last
+  int lastKey() {
+    return this.last;
+  }
+
+  // removes every item and forgets the last key, keeping the arrays for reuse
+  // EFFECT: empties this heap
+  void clear() {
+    Arrays.fill(this.counts, 0);
+    this.last = 0;
+    this.size = 0;
+  }
+}
@@ -0,0 +1,60 @@
+// runs Kruskal's algorithm over a maze's edges in order of weight, a chunk of edges at a time
+// a cursor walks the sorted edge array, so no edge is ever copied or removed from a list
+class KruskalGenerator {
+  // the maze being carved
+  MazeGrid grid;
+
+  // every edge of the maze, sorted by weight
+  int[] edges;
+
+  // position of the next edge to examine
+  int cursor = 0;
+
+  // which cells are already connected by the carved passages
+  DisjointSet sets;
+
+  // how long building, weighing and sorting the edges took before the first step, for the
+  // metrics
+  long initEdgesNanos = 0;
+  long edgeWeightsNanos = 0;
+  long sortEdgesNanos = 0;
+
+  KruskalGenerator(MazeGrid grid, int[] sortedEdges, DisjointSet sets) {
+    this.grid = grid;
+    this.edges = sortedEdges;
+    this.sets = sets;
+  }
+
+  KruskalGenerator(MazeGrid grid, int[] sortedEdges) {
+    this(grid, sortedEdges, new DisjointSet(grid.numCells));
+  }
+
+  // starts over on the grid, which has been cleared, and the edges, which have been sorted again
+  // EFFECT: moves the cursor back to the first edge and splits every set
+  void restart() {
+    this.cursor = 0;
+    this.sets.reset();
+  }
+
+  // has the spanning tree been completed?
+  boolean isDone() {
+    return this.grid.numCarved >= this.grid.numCells - 1 || this.cursor == this.edges.length;
+  }
+
+  // examines up to the given number of edges, carving each one that joins two parts of the
+  // maze that are not yet connected, and returns how many edges were examined
+  // EFFECT: advances the cursor and carves passages into the grid
+  int step(int maxEdges) {
+    int examined = 0;
+    while (examined < maxEdges && !this.isDone()) {
+      int edge = this.edges[this.cursor];
+      if (this.sets.union(this.grid.edgeTo(edge), this.grid.edgeFrom(edge))) {
+        this.grid.carve(edge);
+      }
+      // otherwise do nothing with the edge -- discard it
+      this.cursor++;
+      examined++;
+    }
+    return examined;
+  }
+}
@@ -0,0 +1,10 @@
+// generates mazes with Kruskal's algorithm over every edge of the grid in order of random weight
+// the whole sorted edge list is built before the first passage is carved, so its memory is
+// proportional to the number of cells
+class KruskalMazeGenerator implements MazeGenerator {
+  MazeEngine engine = new MazeEngine();
+
+  public MazeGrid generate(int width, int height, long seed) {
+    return this.engine.generate(width, height, seed);
+  }
+}
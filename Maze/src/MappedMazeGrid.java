@@ -0,0 +1,61 @@
+import java.nio.*;
+
+// a maze whose passages are read straight from a file mapped into memory, so that loading it
+// takes no time and no heap; the file's pages are only read when a search reaches them and are
+// shared by every process that maps the same file
+// only the RIGHT and DOWN passages are stored, so the LEFT and UP passages of a cell are read
+// from its neighbors; the cells and carved arrays are left empty, so read its passages through
+// isOpen
+class MappedMazeGrid extends MazeGrid {
+  // the packed rows, laid out as MazeStreamer writes them
+  ByteBuffer rows;
+
+  // position of the first row in the buffer
+  int offset;
+
+  // number of bytes in each packed row
+  int rowBytes;
+
+  // the algorithm the maze was generated with
+  String generator;
+
+  MappedMazeGrid(int width, int height, long seed, String generator, ByteBuffer rows,
+      int offset) {
+    super(width, height, seed, new byte[0], new int[0]);
+    this.generator = generator;
+    this.rows = rows;
+    this.offset = offset;
+    this.rowBytes = MazeStreamer.rowBytes(width);
+  }
+
+  // is there a passage from the given cell in the given direction?
+  boolean isOpen(int cell, byte dir) {
+    int x = this.x(cell);
+    int y = this.y(cell);
+    if (dir == RIGHT || dir == DOWN) {
+      return this.stored(x, y, dir);
+    }
+    else if (dir == LEFT) {
+      return x > 0 && this.stored(x - 1, y, RIGHT);
+    }
+    else {
+      return y > 0 && this.stored(x, y - 1, DOWN);
+    }
+  }
+
+  // is the given RIGHT or DOWN passage of the cell at the given column and row open?
+  boolean stored(int x, int y, byte dir) {
+    byte packed = this.rows.get(this.offset + y * this.rowBytes + (x >>> 2));
+    return (packed & (dir << ((x & 3) * 2))) != 0;
+  }
+
+  // a mapped maze is read only
+  void carve(int edge) {
+    throw new UnsupportedOperationException("Cannot carve into a mapped maze");
+  }
+
+  // a mapped maze is read only
+  void clear(long seed) {
+    throw new UnsupportedOperationException("Cannot clear a mapped maze");
+  }
+}
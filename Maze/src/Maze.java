@@ -1,7 +1,15 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.*;
 import tester.*;
 import javalib.impworld.*;
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import javax.imageio.ImageIO;
 import javalib.worldimages.*;
 
 
@@ -10,36 +18,43 @@ import javalib.worldimages.*;
  *                      ---- GAME INSTRUCTIONS ---
  *  1. Control the number of cells/vertices using the mHeight and mWidth variables in the 
  *     examples class
- *    1a. For larger boards, you might want to increase the number of ticks per second 
- *        of big bang (found in the first tester test)
+ *    1a. For larger boards, you might want to show more of the maze each tick by changing
+ *        the generationSpeed and searchSpeed schedulers in the examples class, either to
+ *        a number of steps per tick or to a time budget per tick
+ *    1b. Set generatorAlgo in the examples class to carve the mazes made by pressing "R"
+ *        with the recursive backtracker, Wilson's or Eller's algorithm instead of Kruskal's
+ *    1c. Boards over 100 cells wide or high are drawn as a single image of pixels with
+ *        smaller cells; set drawRaster to true in the examples class to draw smaller boards
+ *        that way too
  *        
  *  2. After the maze has been sequentially generated press either "D" or "B" on the keyboard
  *     to start solving the maze with depth-first and breadth-first search, respectively
+ *    2a. "A" solves the maze with A* search, and "W" with a two-way breadth-first search
+ *        from both ends of the maze
+ *    2b. "J" solves the maze with Dijkstra's algorithm, where every passage costs from 1
+ *        to 9 to move through, and searches the cheapest cells first
  *     
  *  3. When the maze has been solved, the complete path from start to finish will change to green
  *     and there will be a message below the instructions that tells the user how many moves it
  *     took to solve the entire maze
  *     
  *  4. Press "R" to generate a completely new maze
+ *
+ *  5. After the maze has been generated, press "H" to color every cell by how many moves it
+ *     is from the goal, from blue next to the goal to red for the farthest cells
  *  
  *  
  * ////////////////////////////////////////////////////////////////////
  */
 
-// to represent a single square of the maze 
+// to represent a single square of the maze as it is drawn; the maze itself is kept by the
+// MazeGrid and the world's cell states, so cells are only made when they are needed
 class Cell { 
   int x;
   int y;
 
   Color color = Color.LIGHT_GRAY;
 
-  Cell top;
-  Cell left;
-  Cell right;
-  Cell bottom;
-
-
-
   Cell(int x, int y) { 
     this.x = x;
     this.y = y;
@@ -68,30 +83,6 @@ class Cell {
     this.color = c;
   }
 
-  // changes the top neighbor
-  // EFFECT: mutates the top neighbor to the given cell
-  void changeTop(Cell c) { 
-    this.top = c;
-  }
-
-  // changes the left neighbor
-  // EFFECT: mutates the left neighbor to the given cell
-  void changeLeft(Cell c) { 
-    this.left = c;
-  }
-
-  // changes the right neighbor
-  // EFFECT: mutates the right neighbor to the given cell
-  void changeRight(Cell c) { 
-    this.right = c;
-  }
-
-  // changes the bottom neighbor
-  // EFFECT mutates the bottom neighbor to the given cell
-  void changeBottom(Cell c) { 
-    this.bottom = c;
-  }
-
   // returns this cell's x coordinate
   int getX() { 
     return this.x;
@@ -162,29 +153,67 @@ class Edge {
   }
 }
 
-// to graphically represent the creation and solution of the maze
+// to graphically represent the creation and solution of the maze, replaying the results of
+// the headless engine one step per tick
 class MazeWorld extends World {
+  // cell states: not yet searched, expanded by the search, and on the final path
+  static final byte UNSEEN = 0;
+  static final byte VISITED = 1;
+  static final byte PATH = 2;
+
+  // boards with more cells than this on a side are drawn into a raster
+  static final int RASTER_CELLS = 100;
 
-  // the 2D representation of the maze using cell objects
-  ArrayList<ArrayList<Cell>> maze = new ArrayList<ArrayList<Cell>>();
+  // the log of the number of colors remembered for copying the raster onto the scene
+  static final int COLOR_BITS = 8;
 
-  // all of the possible edges between each of the cells in the maze
-  ArrayList<Edge> edges = new ArrayList<Edge>();
+  // generates and solves the maze without any drawing
+  MazeEngine engine = new MazeEngine();
 
-  // union/find data structure for kruskal's algo to work efficiently
-  HashMap<Cell, Cell> rep = new HashMap<Cell, Cell>();
+  // the arrays every maze of this world is generated in with Kruskal's, kept between resets
+  MazeArena arena;
 
-  // the list of edges created by Kruskal's
-  ArrayList<Edge> edgesInTree = new ArrayList<Edge>();
+  // the maze generated by the engine
+  MazeGrid grid;
 
-  // a copy of the list of edges
-  ArrayList<Edge> edgeCopy = new ArrayList<Edge>();
+  // the engine's solution, once a search has been started
+  MazeSolution solution;
 
-  // a list containing the cells in the order in which they were traversed by the solving algo
-  HashMap<Cell, Cell> visited = new HashMap<Cell, Cell>();
+  // the distance from every cell to the goal, once the heatmap has been asked for
+  DistanceField field;
 
-  // the worklist for the DFS or BFS algorithms; taking from the front of back depending on algo
-  ArrayList<Cell> worklist = new ArrayList<Cell>();
+  // number of cells of the solution's search that have been shown so far
+  int searchStep = 0;
+
+  // the state of every cell, indexed like the grid
+  byte[] state;
+
+  // all of the possible edges between each of the cells in the maze, made only once they are
+  // asked for, since the world draws and shows edges by the engine's edge numbering
+  ArrayList<Edge> edges;
+
+  // the edges of the maze indexed by the engine's edge numbering, made along with the edges
+  Edge[] edgeIndex;
+
+  // number of edges created by Kruskal's that have been shown so far
+  int edgesShown = 0;
+
+  // the edges of the tree that have been shown so far, by the engine's edge numbering
+  CellBitSet shown;
+
+  // the scene drawn so far, kept between frames so that only changes need to be drawn
+  WorldScene scene;
+
+  // the cells whose state changed since the last frame
+  IntDeque dirty = new IntDeque();
+
+  // number of cells repainted on the scene since the board was drawn; the scene keeps every
+  // image placed on it, so each repaint adds a cell and up to four walls to it for good, while
+  // a raster repaints its pixels in place and is not counted
+  int repaints = 0;
+
+  // the end message most recently placed on the scene
+  String drawnMsg = "";
 
   // boolean to tell event handlers to pause while the maze is being solved
   boolean searchStarted = false;
@@ -192,7 +221,8 @@ class MazeWorld extends World {
   // a string to be displayed only when the maze has been solved
   String endMsg = "";
 
-  // determines which searching algorithm will be used to solve the maze (t = dfs, f = bfs)
+  // determines which searching algorithm will be used to solve the maze ("dfs", "bfs", "astar",
+  // "bidi" or "dijkstra")
   String searchAlgo = "none";
 
   // number of cells vertically
@@ -204,292 +234,413 @@ class MazeWorld extends World {
   // nummber of vertices in the maze
   int numCells;
 
-  // boolean to determine if the neighbors in the board have been updated after the maze path
-  // is created
+  // boolean to determine if the whole maze path has been shown
   boolean setNeighbors = false;
 
   // cell size, proportional to size of the board
   int displacement;
 
-  // random object for creating random edge weights
-  Random rand = new Random();
+  // the images of the walls on the right of and below a cell, placed for every wall drawn
+  WorldImage rightWall;
+  WorldImage downWall;
 
-  MazeWorld(int height, int width) {
+  // whether the board is drawn into one image of pixels, rather than an image per cell and
+  // per wall
+  boolean drawRaster;
+
+  // the pixels of the board when it is drawn as one image, and the image placed on the scene
+  // that they are copied into
+  MazeRaster raster;
+  ComputedPixelImage boardImage;
+
+  // the colors made for the board's image, in slots picked by their ARGB values
+  Color[] colors = new Color[1 << COLOR_BITS];
+
+  // the algorithm each new maze is generated with ("kruskal", "backtracker", "wilson", "eller"
+  // or "pkruskal")
+  String generatorAlgo = MazeEngine.KRUSKAL;
+
+  // how many edges of the maze are shown each tick while it is being generated
+  StepScheduler generationSpeed = new StepScheduler(1);
+
+  // how many cells of the search are shown each tick while the maze is being solved
+  StepScheduler searchSpeed = new StepScheduler(1);
+
+  // draws the seed of each maze made by pressing R, so worlds started from the same seed make
+  // the same mazes in the same order
+  SplittableRandom seeds;
+
+  MazeWorld(int height, int width, long seed) {
     this.height = height;
     this.width = width; 
     numCells = this.height * this.width;
 
-    if (this.height >= 22 || this.width >= 22) { 
+    if (this.height > RASTER_CELLS || this.width > RASTER_CELLS) { 
+      // shrink the cells so that the board stays about 1200 pixels across
+      displacement = Math.max(2, 1200 / Math.max(this.height, this.width));
+    }
+    else if (this.height >= 22 || this.width >= 22) { 
       displacement = 12;
     }
     else { 
       displacement = 40;
     }
 
+    this.drawRaster = this.height > RASTER_CELLS || this.width > RASTER_CELLS;
+    this.rightWall = new RectangleImage(2, displacement, OutlineMode.SOLID, Color.black)
+        .movePinhole(0, 0);
+    this.downWall = new RectangleImage(displacement, 2, OutlineMode.SOLID, Color.black)
+        .movePinhole(0, 0);
+    this.seeds = new SplittableRandom(seed);
+    this.arena = new MazeArena(this.width, this.height, this.engine);
+    this.grid = this.newMaze(seed);
     this.initBoard(this.numCells); 
     this.initEdges();
-    this.edges.sort(new EdgeWeightSort());
-    this.initMaze();
+  }
 
-    edgeCopy = new ArrayList<Edge>(this.edges);
+  // a world whose first maze is generated from a random seed
+  MazeWorld(int height, int width) {
+    this(height, width, new Random().nextLong());
   }
 
-  // creates all of the cells and edges in the maze and randomly sets edge weights
-  void initBoard(int numCells) { 
-    // initialize loop variables
-    int i = 0;
-    int row = 0;
-    int col = 0;
-    ArrayList<Cell> rows = new ArrayList<Cell>();
-
-    // keep iterating until the number of cells created is equal to the length * width
-    while (i < numCells) { 
-
-      while (col < this.width) { 
-        // Create the cell at the current row and column
-        Cell temp;
-        if (row == this.height - 1 && col == this.width - 1) { 
-          temp = new Cell(col, row, Color.MAGENTA);
-        }
-        else if (row == 0 && col == 0) { 
-          temp = new Cell(col, row, Color.green);
-        }
-        else { 
-          temp = new Cell(col, row);
-        }
-        // add the current cell to the current row
-        rows.add(temp);
-        //System.out.println(rows.toString());
-        // increment loop variables
-        i++;
-        col++;
-      }
-      // add the entire row to the 2D array and increment loop variables
-      ArrayList<Cell> tempRow = new ArrayList<Cell>(rows);
-      this.maze.add(tempRow);
-      // System.out.println(this.maze.toString());
-      rows = new ArrayList<Cell>();
-      row++;
-      col = 0;
+  // generates a new maze from the given seed with this world's generator, in the arena's grid
+  // for Kruskal's
+  MazeGrid newMaze(long seed) { 
+    if (this.generatorAlgo.equals(MazeEngine.KRUSKAL)) { 
+      return this.arena.generate(seed);
     }
+    else { 
+      return this.engine.generate(this.width, this.height, seed, this.generatorAlgo);
+    }
+  }
+
+  // creates the state of every cell, none of which have been searched yet
+  void initBoard(int numCells) { 
+    this.state = new byte[numCells];
+    this.shown = new CellBitSet(numCells * 2);
+  }
+
+  // marks every cell as not searched and every edge as not shown, keeping the arrays
+  // EFFECT: clears the state of every cell, the shown edges and the cells to repaint
+  void clearBoard() { 
+    Arrays.fill(this.state, UNSEEN);
+    this.shown.clear();
+    this.dirty.clear();
   }
 
-  // creates all of the edges between the vertices
-  // EFFECT: changes the list of edges to add the newly created edges
+  // weighs all of the edges between the vertices with the weights the engine generated the
+  // maze from, in the arena's order of the edges
+  // a maze from the arena already left its weights there, so only other mazes weigh their edges
+  // EFFECT: updates the arena's weights, and the weights of the edges if they have been made
   void initEdges() { 
-    // creates every neighboring vertex's edge and assigns random weights
-    for (int i = 0; i < this.maze.size(); i++) { 
-      for (int j = 0; j < this.maze.get(i).size(); j++) { 
-        // create new horizontal edge while there's still another vertex to the right and add to
-        // list of edges
-        if (j + 1 != this.maze.get(i).size()) { 
-          Edge hor = new Edge(this.rand.nextInt(42000), this.maze.get(i).get(j),
-              this.maze.get(i).get(j + 1));
-          this.edges.add(hor);
-        }
-        // create new vertical edge while there's still another vertex below and add to list of
-        // edges
-        if (i + 1 != this.maze.size()) { 
-          Edge ver = new Edge(this.rand.nextInt(42000), this.maze.get(i).get(j),
-              this.maze.get(i + 1).get(j));
-          this.edges.add(ver);
-        }
+    int[] weights = this.arena.weights;
+    if (this.grid != this.arena.grid) { 
+      this.engine.edgeWeights(this.grid, weights);
+    }
+    if (this.edges != null) { 
+      for (int i = 0; i < this.edges.size(); i++) { 
+        this.edges.get(i).weight = weights[i];
       }
     }
   }
 
-  // Uses Kruskal's algorithm to create a minimum spanning tree in the maze
-  // EFFECT: adds edges to the edgesInTree list as the maze gets builts
-  void initMaze() { 
-    for (int i = 0; i < this.maze.size(); i++) { 
-      int rowSize = this.maze.get(i).size();
-      for (int j = 0; j < rowSize; j++) { 
-        Cell curCell = this.maze.get(i).get(j);
-        this.rep.put(curCell, curCell);
+  // returns all of the edges between the vertices, with their weights, in the arena's order
+  // EFFECT: creates the edges and their index the first time, and keeps them for later mazes
+  ArrayList<Edge> edges() { 
+    if (this.edges == null) { 
+      int[] engineEdges = this.arena.edges;
+      this.edges = new ArrayList<Edge>(engineEdges.length);
+      this.edgeIndex = new Edge[this.numCells * 2];
+      for (int i = 0; i < engineEdges.length; i++) { 
+        int edge = engineEdges[i];
+        Edge curEdge = new Edge(this.arena.weights[i], this.cellAt(this.grid.edgeTo(edge)),
+            this.cellAt(this.grid.edgeFrom(edge)));
+        this.edges.add(curEdge);
+        this.edgeIndex[edge] = curEdge;
       }
     }
+    return this.edges;
   }
 
-  // keeps detecting representatives until the key equals the value in the hashmap
-  Cell findFinalRep(Cell key) { 
-    Cell result = this.rep.get(key);
-    while (result != this.rep.get(result)) { 
-      result = this.rep.get(result);
+  // returns the edges created by Kruskal's that have been shown so far, in the order shown
+  ArrayList<Edge> edgesInTree() { 
+    this.edges();
+    ArrayList<Edge> tree = new ArrayList<Edge>(this.edgesShown);
+    for (int i = 0; i < this.edgesShown; i++) { 
+      tree.add(this.edgeIndex[this.grid.carved[i]]);
     }
-    return this.rep.get(result);
+    return tree;
   }
 
-  // sets the neighbors of all of the cells after the maze path has been generated
-  void initNeighbors() { 
-    for (int i = 0; i < this.edgesInTree.size(); i++) { 
-      // all edges in these edges are the path in the maze, so these cells should be neighbors
-      Edge curEdge = this.edgesInTree.get(i); 
-      Cell curTo = curEdge.getTo(); 
-      Cell curFrom = curEdge.getFrom(); 
+  // returns a view of the given cell, colored by its state
+  Cell cellAt(int cell) { 
+    return new Cell(this.grid.x(cell), this.grid.y(cell), this.colorOf(cell));
+  }
 
-      if (curTo.getX() < curFrom.getX()) {  
-        curTo.changeRight(curFrom); 
-        curFrom.changeLeft(curTo);
-      }
-      if (curTo.getX() > curFrom.getX()) { 
-        curTo.changeLeft(curFrom);
-        curFrom.changeRight(curTo);
-      }
-      if (curTo.getY() < curFrom.getY()) { 
-        curTo.changeBottom(curFrom);
-        curFrom.changeTop(curTo);
-      }
-      if (curTo.getY() > curFrom.getY()) { 
-        curTo.changeTop(curFrom);
-        curFrom.changeBottom(curTo);
-      }
+  // returns the color the given cell is drawn in
+  Color colorOf(int cell) { 
+    if (this.state[cell] == PATH) { 
+      return Color.green;
+    }
+    else if (this.state[cell] == VISITED) { 
+      return Color.cyan;
+    }
+    else if (this.field != null) { 
+      return new Color(MazeRaster.heatColor(this.field, cell));
+    }
+    else if (cell == this.grid.start()) { 
+      return Color.green;
+    }
+    else if (cell == this.grid.goal()) { 
+      return Color.MAGENTA;
+    }
+    else { 
+      return Color.LIGHT_GRAY;
     }
   }
 
   @Override
   public WorldScene makeScene() {
+    if (this.scene == null) { 
+      this.scene = this.drawBoard();
+    }
+    else { 
+      // only repaint the cells that changed since the last frame, and the walls around them;
+      // once there have been as many repaints as cells, the board is drawn again on a new scene
+      // so that the scene never holds more than a few images per cell
+      while (!this.dirty.isEmpty()) { 
+        if (this.repaints >= this.numCells) { 
+          this.scene = this.drawBoard();
+        }
+        else { 
+          this.drawCell(this.scene, this.dirty.removeFirst());
+        }
+      }
+    }
+
+    if (!this.endMsg.equals(this.drawnMsg)) { 
+      this.drawEndMsg(this.scene);
+    }
+    return this.scene;
+  } 
+
+  // draws every cell, every wall still standing and the instructions on a new scene
+  // EFFECT: empties the dirty list and zeroes the repaints, since everything is drawn
+  WorldScene drawBoard() { 
     int worldHeight = this.height * displacement + 100;
     int worldWidth = this.width * displacement + 100;
     WorldScene background = new WorldScene(worldWidth, worldHeight);
-    for (int i = 0; i < this.maze.size(); i++) { 
-      for (int j = 0; j < this.maze.get(0).size(); j++) { 
-        this.maze.get(i).get(j).drawCell(background, this.displacement);
-      }
+    if (this.drawRaster) { 
+      this.drawRasterBoard(background);
     }
-
-    ArrayList<Edge> edgesCopy = new ArrayList<Edge>(this.edges);
-    edgesCopy.removeAll(this.edgesInTree);
-    for (int i = 0; i < edgesCopy.size(); i++) { 
-      edgesCopy.get(i).drawEdge(background, this.displacement);
+    else { 
+      for (int i = 0; i < this.numCells; i++) { 
+        this.cellAt(i).drawCell(background, this.displacement);
+      }
+      for (int i = 0; i < this.numCells; i++) { 
+        this.drawWall(background, i * 2);
+        this.drawWall(background, i * 2 + 1);
+      }
     }
 
-    WorldImage instructions1 = new TextImage("D for DFS, B for BFS",
+    WorldImage instructions1 = new TextImage("D DFS, B BFS, A A*, W two-way, J Dijkstra",
         15, Color.black).movePinhole(0,0);
-    WorldImage instructions2 = new TextImage("Press R to reset Maze", 15, Color.black)
+    WorldImage instructions2 = new TextImage("H heatmap, R to reset Maze", 15, Color.black)
         .movePinhole(0, 0);
-    WorldImage endMsg = new TextImage(this.endMsg, 15, Color.green);
 
     background.placeImageXY(instructions1, worldWidth / 3 - 30,  worldHeight - 45);
     background.placeImageXY(instructions2, (worldWidth * 2) / 3 + 20, worldHeight - 45);
-    background.placeImageXY(endMsg, worldWidth / 2, worldWidth - 28);
+    this.drawEndMsg(background);
+    this.dirty.clear();
+    this.repaints = 0;
 
     return background;
-  } 
+  }
 
-  @Override
-  public void onTick() { 
-    if (this.edgesInTree.size() < this.numCells - 1) { 
-      Edge curEdge = this.edgeCopy.remove(0);
-      Cell curTo = curEdge.getTo();
-      Cell curFrom = curEdge.getFrom();
-
-      Cell representativeTo = this.findFinalRep(curTo);
-      Cell representativeFrom = this.findFinalRep(curFrom);
-      if (representativeTo != representativeFrom) { 
-        this.edgesInTree.add(curEdge);
-        this.rep.replace(representativeTo, representativeFrom);
+  // draws every cell and wall into the raster on all cores, and places it on the given scene
+  // as one image whose cells are centered where drawCell would have put them
+  // EFFECT: creates the raster and its image the first time
+  void drawRasterBoard(WorldScene background) { 
+    if (this.raster == null) { 
+      this.raster = new MazeRaster(this.width, this.height, this.displacement);
+      this.boardImage = new ComputedPixelImage(this.raster.pixelWidth, this.raster.pixelHeight);
+    }
+    this.raster.render(this.grid, this::rgbOf, this::isWall, ForkJoinPool.commonPool());
+    this.copyPixels(0, 0, this.raster.pixelWidth, this.raster.pixelHeight);
+    int corner = 50 - this.displacement / 2;
+    background.placeImageXY(this.boardImage, corner + this.raster.pixelWidth / 2,
+        corner + this.raster.pixelHeight / 2);
+  }
+
+  // copies the given rectangle of the raster's pixels onto the image placed on the scene
+  // neighboring pixels are mostly the same color, so a color is only looked up when it changes
+  // EFFECT: changes the pixels of the board's image
+  void copyPixels(int left, int top, int rectWidth, int rectHeight) { 
+    int argb = 0;
+    Color color = null;
+    for (int y = top; y < top + rectHeight; y++) { 
+      for (int x = left; x < left + rectWidth; x++) { 
+        int pixel = this.raster.pixel(x, y);
+        if (color == null || pixel != argb) { 
+          argb = pixel;
+          color = this.pixelColor(pixel);
+        }
+        this.boardImage.setPixel(x, y, color);
       }
-      // otherwise do nothing with the edge -- discard it
     }
-    // after maze path is created w/ edges, neighbor cells are connected (but only once)
-    else if (!this.setNeighbors) { 
-      this.initNeighbors();
-      this.setNeighbors = true;
+  }
+
+  // returns a color for the given ARGB value, reusing the one made last time the value landed
+  // in the same slot, so that the walls and the few cell colors are only made once
+  // EFFECT: remembers the color in its slot, replacing any other color there
+  Color pixelColor(int argb) { 
+    int slot = (argb * 0x9E3779B9) >>> (32 - COLOR_BITS);
+    Color color = this.colors[slot];
+    if (color == null || color.getRGB() != argb) { 
+      color = new Color(argb, true);
+      this.colors[slot] = color;
+    }
+    return color;
+  }
+
+  // draws the given cell and the walls around it, on the given scene or into the raster
+  void drawCell(WorldScene background, int cell) { 
+    if (this.drawRaster) { 
+      this.raster.renderCell(this.grid, this::rgbOf, this::isWall, cell);
+      this.copyPixels(this.grid.x(cell) * this.displacement,
+          this.grid.y(cell) * this.displacement, this.displacement, this.displacement);
+    }
+    else { 
+      this.cellAt(cell).drawCell(background, this.displacement);
+      this.drawWallsAround(background, cell);
+      this.repaints++;
     }
+  }
 
-    if (this.setNeighbors && this.searchAlgo.equals("dfs")) { 
-      // perform DFS search one cell at a time
-      this.worklist.add(this.maze.get(0).get(0));
+  // returns the color the given cell is drawn in as an ARGB value, for the raster
+  int rgbOf(int cell) { 
+    if (this.field != null && this.state[cell] == UNSEEN) { 
+      return MazeRaster.heatColor(this.field, cell);
+    }
+    return this.colorOf(cell).getRGB();
+  }
 
-      if (!this.worklist.isEmpty()) { 
-        Cell next = this.worklist.remove(0);
+  // is the given edge drawn as a wall, because it has not been shown as part of the maze yet?
+  boolean isWall(int edge) { 
+    return !this.shown.get(edge);
+  }
 
-        if (next == this.maze.get(this.height - 1).get(this.width - 1)) { 
-          // target cell -- win!          
-          this.reconstruct(next);
+  // draws the end message on the given scene
+  // EFFECT: remembers the message as drawn
+  void drawEndMsg(WorldScene background) { 
+    int worldWidth = this.width * displacement + 100;
+    WorldImage endMsg = new TextImage(this.endMsg, 15, Color.green);
+    background.placeImageXY(endMsg, worldWidth / 2, worldWidth - 28);
+    this.drawnMsg = this.endMsg;
+  }
 
-        }
-        else if (this.visited.containsValue(next)) {
-          // discard cell -- already processed
+  // draws the given edge on the given scene, if it exists and is still a wall, as Edge's
+  // drawEdge would draw it
+  void drawWall(WorldScene background, int edge) { 
+    int cell = this.grid.edgeTo(edge);
+    int cellCoordX = (this.grid.x(cell) * this.displacement) + 50;
+    int cellCoordY = (this.grid.y(cell) * this.displacement) + 50;
+    if ((edge & 1) == 0) { 
+      // the wall on the cell's right
+      if (this.grid.x(cell) + 1 < this.width && !this.shown.get(edge)) { 
+        background.placeImageXY(this.rightWall, cellCoordX + (this.displacement / 2),
+            cellCoordY);
+      }
+    }
+    else if (this.grid.y(cell) + 1 < this.height && !this.shown.get(edge)) { 
+      // the wall below the cell
+      background.placeImageXY(this.downWall, cellCoordX, cellCoordY + (this.displacement / 2));
+    }
+  }
 
-        }
-        else { 
-          // add all valid neighbors of next to the worklist to be processed
-          if (next.top != null) { 
-            this.worklist.add(0, next.top);
-            this.visited.putIfAbsent(next.top, next);
-          }
-          if (next.right != null) { 
-            this.worklist.add(0, next.right);
-            this.visited.putIfAbsent(next.right, next);
-          }
-          if (next.left != null) { 
-            this.worklist.add(0, next.left);
-            this.visited.putIfAbsent(next.left, next);
-          }
-          if (next.bottom != null) { 
-            this.worklist.add(0, next.bottom);
-            this.visited.putIfAbsent(next.bottom, next);
-          }
-          // add next to the visited list, so that it is not visited again and can be reconstructed
-          next.changeColor(Color.cyan);
+  // draws the walls on all four sides of the given cell, which overlap the cell's square
+  void drawWallsAround(WorldScene background, int cell) { 
+    this.drawWall(background, cell * 2);
+    this.drawWall(background, cell * 2 + 1);
+    if (this.grid.x(cell) > 0) { 
+      this.drawWall(background, (cell - 1) * 2);
+    }
+    if (this.grid.y(cell) > 0) { 
+      this.drawWall(background, (cell - this.width) * 2 + 1);
+    }
+  }
 
+  // changes the state of the given cell
+  // EFFECT: marks the cell to be repainted in the next frame
+  void setState(int cell, byte newState) { 
+    this.state[cell] = newState;
+    this.dirty.addLast(cell);
+  }
 
-        }
+  @Override
+  public void onTick() { 
+    if (this.edgesShown < this.grid.numCarved) { 
+      // show the next edges Kruskal's added to the tree
+      this.generationSpeed.startTick();
+      for (int steps = 0; this.edgesShown < this.grid.numCarved
+          && this.generationSpeed.canStep(steps); steps++) { 
+        this.showNextEdge();
       }
     }
-    else if (this.setNeighbors && this.searchAlgo.equals("bfs")) { 
-      // perform BFS search one cell at a time
-      this.worklist.add(this.maze.get(0).get(0));
-
-      if (!this.worklist.isEmpty()) { 
-        Cell next = this.worklist.remove(0);
-        if (next == this.maze.get(this.height  - 1).get(this.width - 1)) { 
-          // target cell -- win!          
-          this.reconstruct(next);
+    // after the whole maze path is shown, the search can start
+    else { 
+      this.setNeighbors = true;
+    }
 
-        }
-        else if (this.visited.containsValue(next)) {
-          // discard cell -- already processed
-        }
-        else { 
-          // add all valid neighbors of next to the worklist to be processed
-          if (next.top != null) { 
-            this.worklist.add(next.top);
-            this.visited.putIfAbsent(next.top, next);
-          }
-          if (next.right != null) { 
-            this.worklist.add(next.right);
-            this.visited.putIfAbsent(next.right, next);
-          }
-          if (next.left != null) { 
-            this.worklist.add(next.left);
-            this.visited.putIfAbsent(next.left, next);
-          }
-          if (next.bottom != null) { 
-            this.worklist.add(next.bottom);
-            this.visited.putIfAbsent(next.bottom, next);
-          }
-          next.changeColor(Color.cyan);
+    if (this.setNeighbors && !this.searchAlgo.equals("none")) { 
+      // show the next cells of the search
+      MazeSolution result = this.currentSolution();
+      if (this.searchStep < result.cellsExpanded) { 
+        this.searchSpeed.startTick();
+        for (int steps = 0; this.searchStep < result.cellsExpanded
+            && this.searchSpeed.canStep(steps); steps++) { 
+          this.setState(result.expanded[this.searchStep], VISITED);
+          this.searchStep++;
         }
       }
+      else { 
+        // target cell -- win!
+        this.reconstruct();
+      }
     }
   }
 
-  // reconstructs the correct path from the start to finish
-  void reconstruct(Cell target) { 
-    target.changeColor(Color.green);
-    Cell prev = this.visited.get(target);
+  // shows the next edge Kruskal's added to the tree
+  // EFFECT: adds the edge to the shown edges and marks its cells to be repainted
+  void showNextEdge() { 
+    int edge = this.grid.carved[this.edgesShown];
+    this.edgesShown++;
+    this.shown.set(edge);
+    this.dirty.addLast(this.grid.edgeTo(edge));
+    this.dirty.addLast(this.grid.edgeFrom(edge));
+  }
 
-    while (this.maze.get(0).get(0).getColor() != Color.green) { 
-      prev.changeColor(Color.green);
-      prev = this.visited.get(prev); 
-      this.makeScene();
-      this.searchAlgo = "none";
+  // returns the engine's solution for the selected algorithm, solving the maze the first time
+  // EFFECT: stores the solution so that it is only computed once per search
+  MazeSolution currentSolution() { 
+    if (this.solution == null) { 
+      this.solution = this.engine.solve(this.grid, this.searchAlgo);
     }
-    this.endMsg = "Maze Solved in " + this.visited.size() + " moves!";
-
+    return this.solution;
+  }
 
+  // colors the solution's path from the start to the goal in one pass over its cells; the
+  // scene is kept, and the next frame repaints only the cells of the path
+  // EFFECT: marks every cell of the path to be repainted, and sets the end message
+  void reconstruct() { 
+    int[] path = this.currentSolution().path;
+    for (int i = 0; i < path.length; i++) { 
+      this.setState(path[i], PATH);
+    }
+    this.searchAlgo = "none";
+    // the moves along the path, and the cells the search looked at to find it
+    this.endMsg = "Maze Solved in " + this.solution.moves() + " moves after searching "
+        + this.searchStep + " cells!";
   }
 
   @Override 
@@ -510,41 +661,63 @@ class MazeWorld extends World {
       this.searchAlgo = "bfs";
       this.searchStarted = true;
 
+    }
+    else if (key.equals("a") && mazeGenerated) { 
+      // start A* search, if the maze has been generated
+      this.searchAlgo = "astar";
+      this.searchStarted = true;
+
+    }
+    else if (key.equals("w") && mazeGenerated) { 
+      // start two-way breadth first search, if the maze has been generated
+      this.searchAlgo = "bidi";
+      this.searchStarted = true;
+
+    }
+    else if (key.equals("j") && mazeGenerated) { 
+      // start Dijkstra's search over the maze's passage costs, if the maze has been generated
+      this.searchAlgo = "dijkstra";
+      this.searchStarted = true;
+
+    }
+    else if (key.equals("h") && mazeGenerated) { 
+      // show how far every cell is from the goal, if the maze has been generated
+      this.showHeatmap();
+
     }
 
     if (key.equals("r")) { 
       // reset and generate new maze       
-      this.maze = new ArrayList<ArrayList<Cell>>();      
-      this.edges = new ArrayList<Edge>();
-      this.rep = new HashMap<Cell, Cell>();
-      this.edgesInTree = new ArrayList<Edge>();     
-      this.edgeCopy = new ArrayList<Edge>();      
-      this.visited = new HashMap<Cell, Cell>();     
-      this.worklist = new ArrayList<Cell>();     
-      this.searchStarted = false;    
-      this.searchAlgo = "none";  
-      this.setNeighbors = false;
-      this.endMsg = "";
-
-      this.initBoard(this.numCells); 
-      this.initEdges();
-      this.edges.sort(new EdgeWeightSort());
-      this.initMaze();
-      edgeCopy = new ArrayList<Edge>(this.edges);
-
+      this.reset(this.seeds.nextLong());
     }
   }
-}
 
-// a function object to compare the weights of edges
-class EdgeWeightSort implements Comparator<Edge> {
+  // finds the distance from every cell to the goal in one search, and colors the board by it
+  // EFFECT: sets the distance field, and throws away the scene so that every cell is redrawn
+  void showHeatmap() { 
+    this.field = new DistanceField(this.grid, this.grid.goal());
+    this.scene = null;
+  }
 
-  @Override
-  // returns a positive if edge1 weight is greater than edge2 weight, negative if edge2 weight
-  // is greater, and 0 if they are equal to compare the edge weight of a given maze edge.
-  public int compare(Edge o1, Edge o2) {
-    return o1.weight - o2.weight;
-  } 
+  // throws away the current maze and its search, and generates a new maze from the given seed
+  // the board, the edges and the arena are cleared and refilled in place, so a reset allocates
+  // next to nothing
+  // EFFECT: resets every field that describes the maze, its search or the scene
+  void reset(long seed) { 
+    this.edgesShown = 0;
+    this.solution = null;
+    this.field = null;
+    this.scene = null;
+    this.searchStep = 0;
+    this.searchStarted = false;    
+    this.searchAlgo = "none";  
+    this.setNeighbors = false;
+    this.endMsg = "";
+
+    this.grid = this.newMaze(seed);
+    this.clearBoard();
+    this.initEdges();
+  }
 }
 
 // examples of maze cells, edges, and worlds
@@ -569,10 +742,11 @@ class ExamplesMazeWorld {
   MazeWorld m = new MazeWorld(this.mHeight, this.mWidth);
   MazeWorld m2 = new MazeWorld(2, 2);
 
-  EdgeWeightSort edgeComp = new EdgeWeightSort();
+  MazeEngine engine = new MazeEngine();
+  MazeGrid g2 = this.engine.generate(2, 2, 7);
+  MazeGrid g3 = this.engine.generate(3, 3, 42);
 
-  HashMap<Cell, Cell> testRep1 = new HashMap<Cell, Cell>();
-  HashMap<Cell, Cell> testRep2 = new HashMap<Cell, Cell>();
+  DisjointSet sets = new DisjointSet(5);
 
 
   WorldScene bg = new WorldScene(this.m2.width * this.m2.displacement + 100,
@@ -592,20 +766,14 @@ class ExamplesMazeWorld {
     c6 = new Cell(0,2);
     c7 = new Cell(2,2);
 
-    this.testRep1.put(c1, c1);
-    this.testRep1.put(c2, c2);
-    this.testRep1.put(c3, c3);
-
-    this.testRep2.put(c7, c6);
-    this.testRep2.put(c6, c5);
-    this.testRep2.put(c5, c4);
-    this.testRep2.put(c4, c3);
-    this.testRep2.put(c3, c3);
+    this.sets = new DisjointSet(5);
 
 
     m = new MazeWorld(this.mHeight, this.mWidth);
     m2 = new MazeWorld(2, 2);
-    this.edgeComp = new EdgeWeightSort();
+    this.engine = new MazeEngine();
+    this.g2 = this.engine.generate(2, 2, 7);
+    this.g3 = this.engine.generate(3, 3, 42);
     bg = new WorldScene(this.m2.width * this.m2.displacement + 100,
         this.m2.height * this.m2.displacement + 100);
   }
@@ -614,48 +782,61 @@ class ExamplesMazeWorld {
   void testFloodWorld(Tester t) {
     int bigBangHeight = this.m.height * this.m.displacement + 100;
     int bigBangWidth = this.m.width * this.m.displacement + 100;
-    this.m.bigBang(bigBangWidth, bigBangHeight, 0.000000000000000000000000000000000000000000000001);
+    this.m.generationSpeed = new StepScheduler(2);
+    this.m.searchSpeed = StepScheduler.timed(2000000);
+    this.m.bigBang(bigBangWidth, bigBangHeight, 1.0 / 60);
   }
 
 
   // tests for the initCells method
   void testInitBoard(Tester t) { 
-    t.checkExpect(this.m.maze.size(), this.mHeight);
-    t.checkExpect(this.m.maze.get(1).size(), this.mWidth);
+    t.checkExpect(this.m.state.length, this.mHeight * this.mWidth);
+    t.checkExpect(this.m.state[this.mWidth + 1], MazeWorld.UNSEEN);
   }
 
   // tesets for the initEdges method
   void testInitEdges(Tester t) { 
-    t.checkExpect(this.m2.edges.size(), 4);
-    t.checkExpect(this.m.edges.size(), 760);
-    t.checkExpect(this.m.edges.get(3).weight != this.m.edges.get(5).weight, true);
-    t.checkExpect(this.m.edges.get(5).weight != this.m.edges.get(10).weight, true);
+    // the edges are only made once they are asked for
+    t.checkExpect(this.m.edges, null);
+    t.checkExpect(this.m2.edges().size(), 4);
+    t.checkExpect(this.m.edges().size(), 760);
+    t.checkExpect(this.m.edges().get(3).weight != this.m.edges().get(5).weight, true);
+    t.checkExpect(this.m.edges().get(5).weight != this.m.edges().get(10).weight, true);
+
+    // the edges carry the weights of the maze, whether or not the arena generated it
+    int[] weights = this.engine.edgeWeights(this.m2.grid);
+    t.checkExpect(this.m2.edges().get(3).weight, weights[3]);
+    this.m2.generatorAlgo = MazeEngine.WILSON;
+    this.m2.reset(5);
+    weights = this.engine.edgeWeights(this.m2.grid);
+    t.checkExpect(this.m2.grid == this.m2.arena.grid, false);
+    t.checkExpect(this.m2.edges().get(0).weight, weights[0]);
+    t.checkExpect(this.m2.edges().get(3).weight, weights[3]);
   }
 
-  // tests for initMaze method
-  void testInitMaze(Tester t) { 
+  // tests for the DisjointSet constructor
+  void testInitSets(Tester t) { 
     initExamples();
 
-    t.checkExpect(this.m2.rep.get(this.m2.maze.get(0).get(0)), this.m2.maze.get(0).get(0));
-    t.checkExpect(this.m2.rep.get(this.m2.maze.get(0).get(1)), this.m2.maze.get(0).get(1));
+    t.checkExpect(this.sets.find(0), 0);
+    t.checkExpect(this.sets.find(1), 1);
+    t.checkExpect(this.sets.find(4), 4);
+    t.checkExpect(this.sets.rank[4], (byte) 0);
   }
 
-  // tests for the initNeighbor method
-  void testInitNeighbor(Tester t) { 
+  // tests that the maze path is fully shown before the search can start
+  void testShowMaze(Tester t) { 
     initExamples();
 
-    t.checkExpect(this.m2.maze.get(0).get(0).top, null);
-    t.checkExpect(this.m2.maze.get(0).get(0).bottom != null || 
-        this.m2.maze.get(0).get(0).right != null, false);
-
-    // need to use kruskal's to get edges in the path, so neighbors can be set
+    t.checkExpect(this.m2.edgesShown, 0);
     while (!this.m2.setNeighbors) { 
       this.m2.onTick();
     }
-    this.m2.initNeighbors();
-    t.checkExpect(this.m2.maze.get(0).get(0).top, null);
-    t.checkExpect(this.m2.maze.get(0).get(0).bottom == null && 
-        this.m2.maze.get(0).get(0).right == null, false);
+    t.checkExpect(this.m2.edgesShown, 3);
+    t.checkExpect(this.m2.edgesInTree().size(), 3);
+    t.checkExpect(this.m2.grid.isOpen(0, MazeGrid.UP), false);
+    t.checkExpect(this.m2.grid.isOpen(0, MazeGrid.DOWN) || 
+        this.m2.grid.isOpen(0, MazeGrid.RIGHT), true);
 
   }
 
@@ -663,18 +844,18 @@ class ExamplesMazeWorld {
   void testOnTick(Tester t) { 
     initExamples();
     // number of edges in tree increases after a tick
-    int numEdges = this.m2.edgesInTree.size();
+    int numEdges = this.m2.edgesShown;
     this.m2.onTick();
-    t.checkExpect(numEdges < this.m2.edgesInTree.size(), true);
+    t.checkExpect(numEdges < this.m2.edgesShown, true);
 
     // number of visited increases after a tick
     initExamples();
     this.m2.searchStarted = false;
     this.m2.setNeighbors = true;
-    t.checkExpect(this.m2.maze.get(0).get(0).color, Color.green);
+    t.checkExpect(this.m2.cellAt(0).color, Color.green);
     this.m2.searchAlgo = "dfs";
     this.m2.onTick();
-    t.checkExpect(this.m2.maze.get(0).get(0).color, Color.cyan);
+    t.checkExpect(this.m2.cellAt(0).color, Color.cyan);
   }
 
   // tests for the onKeyEvent Handler
@@ -695,29 +876,58 @@ class ExamplesMazeWorld {
     this.m.onKeyEvent("b");
     t.checkExpect(this.m.searchAlgo.equals("bfs"), true);
 
+    // testing A* and two-way search
+    initExamples();
+    this.m.setNeighbors = true;
+    this.m.onKeyEvent("a");
+    t.checkExpect(this.m.searchAlgo, "astar");
+    initExamples();
+    this.m.setNeighbors = true;
+    this.m.onKeyEvent("w");
+    t.checkExpect(this.m.searchAlgo, "bidi");
+
     // testing reset
     initExamples();
-    ArrayList<Edge> edgeList1 = this.m.edgesInTree;
+    this.m.onTick();
     this.m.searchStarted = false;
     this.m.setNeighbors = true;
     this.m.onKeyEvent("d");
     t.checkExpect(this.m.searchAlgo, "dfs");
     this.m.onKeyEvent("r");
     t.checkExpect(this.m.searchAlgo, "none");
-    t.checkExpect(edgeList1 == this.m.edgesInTree, false);
+    // none of the new maze's edges have been shown
+    t.checkExpect(this.m.edgesShown, 0);
+    t.checkExpect(this.m.edgesInTree().size(), 0);
   }
 
-  // tests for find final rep method
-  void testFindFinalRep(Tester t) { 
+  // tests for the find method
+  void testFind(Tester t) { 
     initExamples();
-    this.m2.rep = this.testRep1;
-    t.checkExpect(this.m2.findFinalRep(c1), c1);
-    t.checkExpect(this.m2.findFinalRep(c3), c3);
 
+    // a chain 4 -> 3 -> 2 -> 1 -> 0 gets halved on the way to its representative
+    this.sets.parent = new int[] { 0, 0, 1, 2, 3 };
+    t.checkExpect(this.sets.find(1), 0);
+    t.checkExpect(this.sets.find(4), 0);
+    t.checkExpect(this.sets.parent[4], 2);
+    t.checkExpect(this.sets.parent[2], 0);
+  }
+
+  // tests for the union method
+  void testUnion(Tester t) { 
     initExamples();
-    this.m2.rep = this.testRep2;
-    t.checkExpect(this.m2.findFinalRep(c4), c3);
-    t.checkExpect(this.m2.findFinalRep(c5), c3);
+
+    t.checkExpect(this.sets.union(0, 1), true);
+    t.checkExpect(this.sets.find(1), 0);
+    t.checkExpect(this.sets.rank[0], (byte) 1);
+    t.checkExpect(this.sets.union(1, 0), false);
+    // the shorter tree goes under the taller one
+    t.checkExpect(this.sets.union(2, 1), true);
+    t.checkExpect(this.sets.find(2), 0);
+    t.checkExpect(this.sets.rank[0], (byte) 1);
+    t.checkExpect(this.sets.union(3, 4), true);
+    t.checkExpect(this.sets.union(4, 2), true);
+    t.checkExpect(this.sets.find(4), this.sets.find(0));
+    t.checkExpect(this.sets.rank[this.sets.find(4)], (byte) 2);
   }
 
 
@@ -729,13 +939,39 @@ class ExamplesMazeWorld {
     this.m2.setNeighbors = true;
     this.m2.onKeyEvent("d");
 
-    t.checkExpect(this.m2.maze.get(1).get(1).color, Color.magenta);
+    t.checkExpect(this.m2.cellAt(3).color, Color.magenta);
     t.checkExpect(this.m2.endMsg, "");
 
-    this.m2.reconstruct(this.m2.maze.get(1).get(1));
+    WorldScene scene = this.m2.makeScene();
+    this.m2.reconstruct();
+
+    t.checkExpect(this.m2.cellAt(3).color, Color.green);
+    t.checkExpect(this.m2.cellAt(0).color, Color.green);
+    t.checkExpect(this.m2.state[3], MazeWorld.PATH);
+    t.checkExpect(this.m2.endMsg, "Maze Solved in 2 moves after searching 0 cells!");
+    // every cell of the path is repainted once, on the same scene
+    t.checkExpect(this.m2.dirty.size, 3);
+    t.checkExpect(this.m2.makeScene() == scene, true);
+    t.checkExpect(this.m2.dirty.size, 0);
 
-    t.checkExpect(this.m2.maze.get(1).get(1).color, Color.green);
-    t.checkExpect(this.m2.endMsg, "Maze Solved in 0 moves!");
+    // the path is colored as soon as the search has been shown
+    initExamples();
+    while (!this.m.setNeighbors) { 
+      this.m.onTick();
+    }
+    this.m.onKeyEvent("b");
+    while (this.m.endMsg.equals("")) { 
+      this.m.onTick();
+    }
+    int[] path = this.m.solution.path;
+    t.checkExpect(path[0], this.m.grid.start());
+    t.checkExpect(path[path.length - 1], this.m.grid.goal());
+    boolean colored = true;
+    for (int i = 0; i < path.length; i++) { 
+      colored = colored && this.m.state[path[i]] == MazeWorld.PATH;
+    }
+    t.checkExpect(colored, true);
+    t.checkExpect(this.m.searchAlgo, "none");
   }
 
   // tests for the makeScene method
@@ -750,8 +986,8 @@ class ExamplesMazeWorld {
     WorldImage cell3 = new RectangleImage(40, 40, OutlineMode.SOLID, this.c3.color);
     WorldImage cell4 = new RectangleImage(40, 40, OutlineMode.SOLID, this.c4.color);
 
-    ArrayList<Edge> edgesToDraw = new ArrayList<Edge>(this.m2.edges);
-    edgesToDraw.removeAll(this.m2.edgesInTree);
+    ArrayList<Edge> edgesToDraw = new ArrayList<Edge>(this.m2.edges());
+    edgesToDraw.removeAll(this.m2.edgesInTree());
 
     bg.placeImageXY(cell1, this.c1.getX() * 40 + 50, this.c1.getY() * 40 + 50);
     bg.placeImageXY(cell2, this.c2.getX() * 40 + 50, this.c2.getY() * 40 + 50);
@@ -772,9 +1008,9 @@ class ExamplesMazeWorld {
       }
     }
 
-    WorldImage instructions1 = new TextImage("D for DFS, B for BFS",
+    WorldImage instructions1 = new TextImage("D DFS, B BFS, A A*, W two-way, J Dijkstra",
         15, Color.black).movePinhole(0,0);
-    WorldImage instructions2 = new TextImage("Press R to reset Maze", 15, Color.black)
+    WorldImage instructions2 = new TextImage("H heatmap, R to reset Maze", 15, Color.black)
         .movePinhole(0, 0);
     WorldImage endMsg = new TextImage("", 15, Color.green);
 
@@ -829,52 +1065,27 @@ class ExamplesMazeWorld {
 
     t.checkExpect(bg, edgeTest2);
 
+    // the world draws the same walls from the engine's edge numbers
+    WorldScene wallTest = new WorldScene(this.m2.width * this.m2.displacement + 100,
+        this.m2.height * this.m2.displacement + 100);
+    this.m2.drawWall(wallTest, 0);
+    this.m2.drawWall(wallTest, 3);
+    edgeTest1.placeImageXY(new RectangleImage(40, 2, OutlineMode.SOLID, Color.black)
+        .movePinhole(0, 0), 90, 70);
+    t.checkExpect(wallTest, edgeTest1);
   }
 
-  // tests for the compare method
-  void testCompare(Tester t) { 
-    t.checkExpect(this.edgeComp.compare(e2, e1), 8);
-    t.checkExpect(this.edgeComp.compare(e4, e3), -10);
-  }
-
-  // tests for the changeTop method
-  void testChangeTop(Tester t) { 
-    initExamples();
-
-    t.checkExpect(this.c3.top, null);
-    this.c3.changeTop(this.c1);
-    t.checkExpect(this.c3.top, this.c1);
-
-  }
-
-  // tests for the changeRight method
-  void testChangeRight(Tester t) { 
-    initExamples();
-
-    t.checkExpect(this.c1.right, null);
-    this.c1.changeRight(this.c2);
-    t.checkExpect(this.c1.right, this.c2);
-
-  }
-
-  // tests for the changeLeft method
-  void testChangeLeft(Tester t) { 
-    initExamples();
-
-    t.checkExpect(this.c2.left, null);
-    this.c2.changeLeft(this.c1);
-    t.checkExpect(this.c2.left, this.c1);
-
-  }
-
-  // tests for the changeBottom method
-  void testChangeBottom(Tester t) { 
+  // tests for the engine's sortEdges method
+  void testSortEdges(Tester t) { 
     initExamples();
 
-    t.checkExpect(this.c1.bottom, null);
-    this.c1.changeBottom(this.c3);
-    t.checkExpect(this.c1.bottom, this.c3);
-
+    int[] edges = new int[] { 0, 1, 3, 4 };
+    t.checkExpect(Arrays.toString(this.engine.sortEdges(edges, new int[] { 2, 10, 11, 1 })),
+        "[4, 0, 1, 3]");
+    // edges of equal weight keep their order
+    t.checkExpect(Arrays.toString(this.engine.sortEdges(edges, new int[] { 5, 0, 5, 41999 })),
+        "[1, 0, 3, 4]");
+    t.checkExpect(this.engine.sortEdges(new int[0], new int[0]).length, 0);
   }
 
   // tests the getX cells method
@@ -935,4 +1146,1140 @@ class ExamplesMazeWorld {
     t.checkExpect(this.c4.getColor(), Color.cyan);
   }
 
+  // tests for the engine's generate method
+  void testGenerate(Tester t) { 
+    initExamples();
+
+    t.checkExpect(this.g2.numCarved, 3);
+    t.checkExpect(this.g3.numCarved, 8);
+    t.checkExpect(this.g3.seed, 42L);
+    // every cell has at least one passage out of it
+    for (int i = 0; i < this.g3.numCells; i++) { 
+      t.checkExpect(this.g3.cells[i] != 0, true);
+    }
+    // the same seed always generates the same maze
+    t.checkExpect(Arrays.equals(this.engine.generate(3, 3, 42).cells, this.g3.cells), true);
+  }
+
+  // tests for the engine's initEdges method
+  void testEngineInitEdges(Tester t) { 
+    initExamples();
+
+    t.checkExpect(Arrays.toString(this.engine.initEdges(this.g2)), "[0, 1, 3, 4]");
+    t.checkExpect(this.engine.initEdges(this.g3).length, 12);
+    t.checkExpect(this.engine.edgeWeights(this.g3).length, 12);
+  }
+
+  // tests for the carve method
+  void testCarve(Tester t) { 
+    MazeGrid grid = new MazeGrid(2, 2, 0);
+    grid.carve(1);
+    t.checkExpect(grid.isOpen(0, MazeGrid.DOWN), true);
+    t.checkExpect(grid.isOpen(2, MazeGrid.UP), true);
+    t.checkExpect(grid.isOpen(0, MazeGrid.RIGHT), false);
+    grid.carve(4);
+    t.checkExpect(grid.isOpen(2, MazeGrid.RIGHT), true);
+    t.checkExpect(grid.isOpen(3, MazeGrid.LEFT), true);
+    t.checkExpect(grid.numCarved, 2);
+    t.checkExpect(grid.carved[1], 4);
+  }
+
+  // tests for the engine's solve method
+  void testSolve(Tester t) { 
+    initExamples();
+
+    MazeSolution dfs = this.engine.solve(this.g3, "dfs");
+    MazeSolution bfs = this.engine.solve(this.g3, "bfs");
+    t.checkExpect(dfs.path[0], 0);
+    t.checkExpect(dfs.path[dfs.path.length - 1], 8);
+    // a perfect maze has exactly one path between any two cells
+    t.checkExpect(Arrays.equals(dfs.path, bfs.path), true);
+    t.checkExpect(bfs.expanded[0], 0);
+    t.checkExpect(bfs.cellsExpanded <= 8, true);
+    // every step of the path goes through an open passage
+    for (int i = 1; i < dfs.path.length; i++) { 
+      int diff = dfs.path[i] - dfs.path[i - 1];
+      t.checkExpect(diff == 1 || diff == -1 || diff == 3 || diff == -3, true);
+    }
+  }
+
+  // tests for the pathTo method
+  void testPathTo(Tester t) { 
+    int[] parent = new int[] { -1, 0, 1, 0 };
+    t.checkExpect(Arrays.toString(MazeSolution.pathTo(parent, 2)), "[0, 1, 2]");
+    t.checkExpect(Arrays.toString(MazeSolution.pathTo(parent, 0)), "[0]");
+  }
+
+  // tests for the cellAt method
+  void testCellAt(Tester t) { 
+    initExamples();
+
+    t.checkExpect(this.m2.cellAt(0).toString(), "(0,0)");
+    t.checkExpect(this.m2.cellAt(3).toString(), "(1,1)");
+    t.checkExpect(this.m2.cellAt(3).color, Color.magenta);
+    t.checkExpect(this.m2.cellAt(1).color, Color.LIGHT_GRAY);
+  }
+
+  // tests for the colorOf method
+  void testColorOf(Tester t) { 
+    initExamples();
+
+    t.checkExpect(this.m2.colorOf(0), Color.green);
+    t.checkExpect(this.m2.colorOf(2), Color.LIGHT_GRAY);
+    this.m2.state[2] = MazeWorld.VISITED;
+    t.checkExpect(this.m2.colorOf(2), Color.cyan);
+    this.m2.state[0] = MazeWorld.VISITED;
+    t.checkExpect(this.m2.colorOf(0), Color.cyan);
+    this.m2.state[2] = MazeWorld.PATH;
+    t.checkExpect(this.m2.colorOf(2), Color.green);
+  }
+
+  // tests for the IntDeque class
+  void testIntDeque(Tester t) { 
+    IntDeque deque = new IntDeque(2);
+    t.checkExpect(deque.isEmpty(), true);
+    t.checkExpect(deque.items.length, 2);
+    deque.addLast(1);
+    deque.addLast(2);
+    deque.addFirst(0);
+    // the buffer doubles when it fills up
+    t.checkExpect(deque.items.length, 4);
+    t.checkExpect(deque.size, 3);
+    t.checkExpect(deque.removeFirst(), 0);
+    t.checkExpect(deque.removeFirst(), 1);
+    // wrap around the end of the buffer
+    deque.addLast(3);
+    deque.addLast(4);
+    deque.addLast(5);
+    deque.addFirst(9);
+    t.checkExpect(deque.items.length, 8);
+    t.checkExpect(deque.removeFirst(), 9);
+    t.checkExpect(deque.removeFirst(), 2);
+    t.checkExpect(deque.removeFirst(), 3);
+    t.checkExpect(deque.removeFirst(), 4);
+    t.checkExpect(deque.removeFirst(), 5);
+    t.checkExpect(deque.isEmpty(), true);
+    t.checkException(new IllegalStateException("Cannot remove from an empty deque"),
+        deque, "removeFirst");
+    deque.addLast(6);
+    deque.clear();
+    t.checkExpect(deque.isEmpty(), true);
+  }
+
+  // tests for the CellBitSet class
+  void testCellBitSet(Tester t) { 
+    CellBitSet bits = new CellBitSet(130);
+    t.checkExpect(bits.words.length, 3);
+    t.checkExpect(bits.get(0), false);
+    bits.set(0);
+    bits.set(64);
+    bits.set(129);
+    t.checkExpect(bits.get(0), true);
+    t.checkExpect(bits.get(1), false);
+    t.checkExpect(bits.get(64), true);
+    t.checkExpect(bits.get(128), false);
+    t.checkExpect(bits.get(129), true);
+    bits.clear();
+    t.checkExpect(bits.get(64), false);
+  }
+
+  // tests for the KruskalGenerator class
+  void testKruskalGenerator(Tester t) { 
+    initExamples();
+
+    KruskalGenerator kruskal = this.engine.startGenerating(3, 3, 42);
+    t.checkExpect(kruskal.isDone(), false);
+    t.checkExpect(kruskal.grid.numCarved, 0);
+    // the lightest edge always joins two separate cells
+    t.checkExpect(kruskal.step(1), 1);
+    t.checkExpect(kruskal.grid.numCarved, 1);
+    t.checkExpect(kruskal.cursor, 1);
+    while (!kruskal.isDone()) { 
+      kruskal.step(2);
+    }
+    t.checkExpect(kruskal.grid.numCarved, 8);
+    t.checkExpect(kruskal.step(5), 0);
+    // running in chunks carves the same maze as running all at once
+    t.checkExpect(Arrays.equals(kruskal.grid.cells, this.g3.cells), true);
+  }
+
+  // tests that makeScene only repaints what changed
+  void testDirtyCells(Tester t) { 
+    initExamples();
+
+    WorldScene first = this.m2.makeScene();
+    t.checkExpect(this.m2.dirty.isEmpty(), true);
+    this.m2.onTick();
+    // showing an edge removes the wall between its two cells
+    t.checkExpect(this.m2.dirty.size, 2);
+    t.checkExpect(this.m2.shown.get(this.m2.grid.carved[0]), true);
+    t.checkExpect(this.m2.makeScene() == first, true);
+    t.checkExpect(this.m2.dirty.isEmpty(), true);
+
+    this.m2.setState(2, MazeWorld.VISITED);
+    t.checkExpect(this.m2.state[2], MazeWorld.VISITED);
+    t.checkExpect(this.m2.dirty.removeFirst(), 2);
+
+    // resetting draws a new scene
+    this.m2.onKeyEvent("r");
+    t.checkExpect(this.m2.makeScene() == first, false);
+  }
+
+  // tests for the drawEndMsg method
+  void testDrawEndMsg(Tester t) { 
+    initExamples();
+
+    this.m2.makeScene();
+    t.checkExpect(this.m2.drawnMsg, "");
+    this.m2.searchAlgo = "bfs";
+    this.m2.reconstruct();
+    this.m2.makeScene();
+    t.checkExpect(this.m2.drawnMsg, "Maze Solved in 2 moves after searching 0 cells!");
+  }
+
+  // tests for the StepScheduler class
+  void testStepScheduler(Tester t) { 
+    StepScheduler three = new StepScheduler(3);
+    three.startTick();
+    t.checkExpect(three.canStep(0), true);
+    t.checkExpect(three.canStep(2), true);
+    t.checkExpect(three.canStep(3), false);
+
+    // a budget that is not positive puts no limit on the time
+    StepScheduler timed = StepScheduler.timed(-1);
+    timed.startTick();
+    t.checkExpect(timed.canStep(0), true);
+    t.checkExpect(timed.canStep(64), true);
+
+    // a budget that runs out during a step still lets the first step through, and stops the
+    // steps at the next time the clock is read
+    StepScheduler expired = StepScheduler.timed(1);
+    expired.startTick();
+    t.checkExpect(expired.canStep(0), true);
+    try { 
+      Thread.sleep(1);
+    }
+    catch (InterruptedException e) { 
+      Thread.currentThread().interrupt();
+    }
+    t.checkExpect(expired.canStep(1), true);
+    t.checkExpect(expired.canStep(64), false);
+
+    // the deadline is compared by the time left, so a deadline that wraps around still works
+    StepScheduler wrapped = StepScheduler.timed(Long.MAX_VALUE);
+    wrapped.startTick();
+    t.checkExpect(wrapped.canStep(64), true);
+    t.checkConstructorException(
+        new IllegalArgumentException("Must run at least one step per tick"), "StepScheduler", 0);
+  }
+
+  // tests that onTick shows as many steps as the schedulers allow
+  void testOnTickSpeed(Tester t) { 
+    initExamples();
+
+    this.m.generationSpeed = new StepScheduler(50);
+    this.m.onTick();
+    t.checkExpect(this.m.edgesShown, 50);
+    this.m.generationSpeed = new StepScheduler(1000);
+    this.m.onTick();
+    t.checkExpect(this.m.edgesShown, this.mWidth * this.mHeight - 1);
+    this.m.onTick();
+    t.checkExpect(this.m.setNeighbors, true);
+
+    this.m.searchSpeed = new StepScheduler(5);
+    this.m.onKeyEvent("b");
+    this.m.onTick();
+    t.checkExpect(this.m.searchStep, Math.min(5, this.m.solution.cellsExpanded));
+  }
+
+  // tests that every solver finds the one path through a perfect maze
+  void testSolvers(Tester t) { 
+    initExamples();
+
+    MazeGrid big = this.engine.generate(30, 20, 5);
+    int[] expected = this.engine.solve(big, "bfs").path;
+    String[] algorithms = new String[] { "dfs", "astar", "bidi" };
+    for (int i = 0; i < algorithms.length; i++) { 
+      MazeSolution result = this.engine.solve(big, algorithms[i]);
+      t.checkExpect(Arrays.equals(result.path, expected), true);
+      t.checkExpect(result.cellsExpanded > 0, true);
+    }
+    t.checkException(new IllegalArgumentException("Unknown search algorithm: none"),
+        this.engine, "solver", "none");
+
+    // between arbitrary cells, and from a cell to itself
+    MazeSolution middle = new BidirectionalSolver().solve(big, 45, 200);
+    t.checkExpect(middle.path[0], 45);
+    t.checkExpect(middle.path[middle.path.length - 1], 200);
+    t.checkExpect(Arrays.equals(new AStarSolver().solve(big, 45, 200).path, middle.path), true);
+    t.checkExpect(Arrays.toString(new BidirectionalSolver().solve(big, 7, 7).path), "[7]");
+    t.checkExpect(new AStarSolver().solve(big, 7, 7).cellsExpanded, 0);
+  }
+
+  // tests for the AStarSolver's estimate method
+  void testEstimate(Tester t) { 
+    initExamples();
+
+    t.checkExpect(new AStarSolver().estimate(this.g3, 0, 8), 4);
+    t.checkExpect(new AStarSolver().estimate(this.g3, 5, 7), 2);
+  }
+
+  // tests for the IntMinHeap class
+  void testIntMinHeap(Tester t) { 
+    IntMinHeap heap = new IntMinHeap(1);
+    t.checkExpect(heap.isEmpty(), true);
+    heap.add(10, 5);
+    heap.add(11, 2);
+    heap.add(12, 9);
+    heap.add(13, 1);
+    heap.add(14, 5);
+    t.checkExpect(heap.size, 5);
+    t.checkExpect(heap.minKey(), 1);
+    t.checkExpect(heap.removeMin(), 13);
+    t.checkExpect(heap.removeMin(), 11);
+    int next = heap.removeMin();
+    t.checkExpect(next == 10 || next == 14, true);
+    heap.removeMin();
+    t.checkExpect(heap.removeMin(), 12);
+    t.checkExpect(heap.isEmpty(), true);
+    t.checkException(new IllegalStateException("Cannot remove from an empty heap"),
+        heap, "removeMin");
+  }
+
+  // tests for the IntRadixHeap class
+  void testIntRadixHeap(Tester t) { 
+    IntRadixHeap heap = new IntRadixHeap();
+    t.checkExpect(heap.isEmpty(), true);
+    heap.add(10, 5);
+    heap.add(11, 2);
+    heap.add(12, 900);
+    heap.add(13, 0);
+    heap.add(14, 5);
+    t.checkExpect(heap.size, 5);
+    t.checkExpect(heap.removeMin(), 13);
+    t.checkExpect(heap.removeMin(), 11);
+    t.checkExpect(heap.lastKey(), 2);
+    heap.add(15, 3);
+    t.checkExpect(heap.removeMin(), 15);
+    int next = heap.removeMin();
+    t.checkExpect(next == 10 || next == 14, true);
+    heap.removeMin();
+    t.checkExpect(heap.removeMin(), 12);
+    t.checkExpect(heap.isEmpty(), true);
+    t.checkException(new IllegalStateException("Cannot remove from an empty heap"),
+        heap, "removeMin");
+    t.checkException(new IllegalArgumentException(
+        "Keys cannot be smaller than the last key removed"), heap, "add", 1, 899);
+
+    // removes the same keys as a binary heap given the same monotone adds
+    SplittableRandom rand = new SplittableRandom(3);
+    IntMinHeap binary = new IntMinHeap();
+    heap.clear();
+    heap.add(0, 0);
+    binary.add(0, 0);
+    boolean same = true;
+    for (int i = 1; i < 5000; i++) { 
+      if (rand.nextInt(3) == 0 && !binary.isEmpty()) { 
+        int key = binary.minKey();
+        binary.removeMin();
+        heap.removeMin();
+        same = same && heap.lastKey() == key;
+      }
+      else { 
+        int key = heap.lastKey() + rand.nextInt(1 << rand.nextInt(20));
+        heap.add(i, key);
+        binary.add(i, key);
+      }
+    }
+    t.checkExpect(same, true);
+    t.checkExpect(heap.size, binary.size);
+  }
+
+  // tests for the DijkstraSolver class and passage costs
+  void testDijkstraSolver(Tester t) { 
+    initExamples();
+
+    // a perfect maze has one path, whatever its costs
+    MazeGrid grid = this.engine.generate(23, 17, 4);
+    int[] bfs = this.engine.solve(grid, "bfs").path;
+    MazeSolution terrain = this.engine.solve(grid, "dijkstra");
+    t.checkExpect(Arrays.equals(terrain.path, bfs), true);
+    int[] ones = new int[grid.numCells * 2];
+    Arrays.fill(ones, 1);
+    MazeSolution unit = new DijkstraSolver(ones).solve(grid, grid.start(), grid.goal());
+    t.checkExpect(DijkstraSolver.pathCost(grid, ones, unit.path), bfs.length - 1);
+    t.checkExpect(unit.peakFrontier >= 1, true);
+
+    int[] costs = MazeEngine.passageCosts(grid);
+    boolean inRange = true;
+    for (int i = 0; i < costs.length; i++) { 
+      inRange = inRange && costs[i] >= 1 && costs[i] <= MazeEngine.MAX_COST;
+    }
+    t.checkExpect(inRange, true);
+    t.checkExpect(costs[5], 1 + MazeEngine.edgeWeight(4, 5) * MazeEngine.MAX_COST
+        / MazeEngine.MAX_WEIGHT);
+
+    // in a maze with a loop, the costs choose the way around it
+    MazeGrid loop = new MazeGrid(2, 2, 0, new byte[4], new int[4]);
+    loop.carve(0);
+    loop.carve(1);
+    loop.carve(3);
+    loop.carve(4);
+    int[] downFirst = { 5, 1, 0, 5, 1, 0, 0, 0 };
+    int[] rightFirst = { 1, 5, 0, 1, 5, 0, 0, 0 };
+    int[] down = new DijkstraSolver(downFirst).solve(loop, 0, 3).path;
+    int[] right = new DijkstraSolver(rightFirst).solve(loop, 0, 3).path;
+    t.checkExpect(Arrays.toString(down), "[0, 2, 3]");
+    t.checkExpect(Arrays.toString(right), "[0, 1, 3]");
+    t.checkExpect(DijkstraSolver.pathCost(loop, downFirst, down), 2);
+    t.checkExpect(loop.edgeBetween(3, 1), 3);
+    t.checkExpect(loop.edgeBetween(2, 3), 4);
+
+    t.checkConstructorException(new IllegalArgumentException(
+        "Passage costs cannot be negative"), "DijkstraSolver", new int[] { 1, -1 });
+    t.checkException(new IllegalArgumentException("Every edge of the maze needs a cost"),
+        new DijkstraSolver(new int[3]), "solve", loop, 0, 3);
+
+    // costs that add up past the largest int stop the search rather than wrap around
+    int[] huge = new int[8];
+    Arrays.fill(huge, Integer.MAX_VALUE / 2 + 1);
+    t.checkExpect(DijkstraSolver.addCost(Integer.MAX_VALUE - 5, 5), Integer.MAX_VALUE);
+    t.checkException(new IllegalArgumentException("The cost of the path is too large for an int"),
+        new DijkstraSolver(huge), "solve", loop, 0, 3);
+    t.checkException(new IllegalArgumentException("The cost of the path is too large for an int"),
+        new DijkstraSolver(huge), "pathCost", loop, huge, down);
+
+    // the world searches with Dijkstra's when J is pressed
+    this.m2.setNeighbors = true;
+    this.m2.onKeyEvent("j");
+    t.checkExpect(this.m2.searchAlgo, "dijkstra");
+  }
+
+  // tests that the parallel generator carves the same maze as Kruskal's on any number of threads
+  void testParallelMazeGenerator(Tester t) { 
+    initExamples();
+
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    MazeGrid expected = this.engine.generate(37, 23, 9);
+    MazeGrid single = new ParallelMazeGenerator(5, one).generate(37, 23, 9);
+    MazeGrid many = new ParallelMazeGenerator(5, four).generate(37, 23, 9);
+    MazeGrid bigTiles = new ParallelMazeGenerator(64, four).generate(37, 23, 9);
+    t.checkExpect(Arrays.equals(single.cells, expected.cells), true);
+    t.checkExpect(Arrays.equals(many.cells, expected.cells), true);
+    t.checkExpect(Arrays.equals(many.carved, expected.carved), true);
+    t.checkExpect(Arrays.equals(bigTiles.cells, expected.cells), true);
+    t.checkExpect(new ParallelMazeGenerator(2, four).generate(1, 1, 3).numCarved, 0);
+    // an empty grid makes an empty maze, as it does sequentially
+    t.checkExpect(new ParallelMazeGenerator(4, four).generate(0, 0, 3).numCells, 0);
+    t.checkExpect(new ParallelMazeGenerator(4, four).generate(0, 0, 3).numCarved,
+        this.engine.generate(0, 0, 3).numCarved);
+    // edge numbers are ints, which caps the size of a maze just under 2^30 cells
+    t.checkException(new IllegalArgumentException("A maze can have at most 1073741823 cells"),
+        new ParallelMazeGenerator(4, four), "generate", 32768, 32768, 3L);
+    t.checkConstructorException(new IllegalArgumentException("Tiles must be at least 2 cells wide"),
+        "ParallelMazeGenerator", 1, four);
+
+    // small tiles and chunks leave many parts to join over many rounds, with every thread
+    // offering edges to the same parts at once
+    MazeGrid contended = new ParallelMazeGenerator(2, 16, four).generate(61, 47, 12);
+    MazeGrid sequential = this.engine.generate(61, 47, 12);
+    t.checkExpect(Arrays.equals(contended.cells, sequential.cells), true);
+    t.checkExpect(Arrays.equals(contended.carved, sequential.carved), true);
+    // and a grid with more edges than the default chunk is split between tasks as well
+    MazeGrid wide = new ParallelMazeGenerator(8, four).generate(260, 140, 4);
+    t.checkExpect(wide.numCells * 2 > ParallelMazeGenerator.CHUNK, true);
+    t.checkExpect(Arrays.equals(wide.cells, this.engine.generate(260, 140, 4).cells), true);
+    t.checkConstructorException(
+        new IllegalArgumentException("Chunks must hold a positive, even number of edges"),
+        "ParallelMazeGenerator", 2, 3, four);
+    one.shutdown();
+    four.shutdown();
+  }
+
+  // tests for the ConcurrentDisjointSet class
+  void testConcurrentDisjointSet(Tester t) { 
+    ConcurrentDisjointSet sets = new ConcurrentDisjointSet(5);
+    t.checkExpect(sets.find(3), 3);
+    t.checkExpect(sets.union(3, 4), true);
+    t.checkExpect(sets.union(4, 3), false);
+    // the larger root always goes under the smaller one
+    t.checkExpect(sets.find(4), 3);
+    t.checkExpect(sets.union(4, 1), true);
+    t.checkExpect(sets.find(4), 1);
+    t.checkExpect(sets.find(0), 0);
+  }
+
+  // tests for the ParallelBfsSolver class
+  void testParallelBfsSolver(Tester t) { 
+    initExamples();
+
+    MazeGrid big = this.engine.generate(60, 40, 3);
+    MazeSolution sequential = this.engine.solve(big, "bfs");
+    // one cell per task, so that every level wider than four cells is split across threads
+    ForkJoinPool four = new ForkJoinPool(4);
+    MazeSolution parallel = new ParallelBfsSolver(four, 1).solve(big, 0, 2399);
+    four.shutdown();
+    t.checkExpect(Arrays.equals(parallel.path, sequential.path), true);
+    t.checkExpect(Arrays.equals(this.engine.solve(big, "pbfs").path, sequential.path), true);
+    // exactly the levels before the goal's are expanded, and no cell twice
+    t.checkExpect(parallel.cellsExpanded <= sequential.cellsExpanded, true);
+    t.checkExpect(Arrays.stream(parallel.expanded).distinct().count(),
+        (long) parallel.cellsExpanded);
+
+    // from a cell to itself, and between arbitrary cells
+    ParallelBfsSolver solver = new ParallelBfsSolver(ForkJoinPool.commonPool(), 2);
+    t.checkExpect(Arrays.toString(solver.solve(big, 7, 7).path), "[7]");
+    t.checkExpect(solver.solve(big, 7, 7).cellsExpanded, 0);
+    t.checkExpect(Arrays.equals(solver.solve(big, 45, 200).path,
+        new BidirectionalSolver().solve(big, 45, 200).path), true);
+    t.checkConstructorException(
+        new IllegalArgumentException("Each task must expand at least one cell"),
+        "ParallelBfsSolver", ForkJoinPool.commonPool(), 0);
+  }
+
+  // tests for the CellBitSet's setAtomic method
+  void testSetAtomic(Tester t) { 
+    CellBitSet bits = new CellBitSet(130);
+    t.checkExpect(bits.setAtomic(129), true);
+    t.checkExpect(bits.setAtomic(129), false);
+    t.checkExpect(bits.get(129), true);
+    t.checkExpect(bits.get(65), false);
+    bits.clear(129);
+    t.checkExpect(bits.get(129), false);
+  }
+
+  // tests for the MazeGenerator implementations and the engine's generator method
+  void testGenerators(Tester t) { 
+    initExamples();
+
+    String[] algorithms = new String[] { "kruskal", "backtracker", "wilson", "eller",
+        "pkruskal" };
+    for (int i = 0; i < algorithms.length; i++) { 
+      MazeGrid grid = this.engine.generate(30, 20, 8, algorithms[i]);
+      // a spanning tree: one passage fewer than there are cells, and none of them closes a loop
+      t.checkExpect(grid.numCarved, 599);
+      DisjointSet joined = new DisjointSet(grid.numCells);
+      boolean tree = true;
+      for (int e = 0; e < grid.numCarved; e++) { 
+        tree = joined.union(grid.edgeTo(grid.carved[e]), grid.edgeFrom(grid.carved[e])) && tree;
+      }
+      t.checkExpect(tree, true);
+      // the same seed makes the same maze
+      t.checkExpect(Arrays.equals(this.engine.generate(30, 20, 8, algorithms[i]).cells,
+          grid.cells), true);
+      t.checkExpect(this.engine.solve(grid, "bfs").path.length > 0, true);
+      // a single row or column is a corridor
+      t.checkExpect(this.engine.generate(1, 5, 3, algorithms[i]).numCarved, 4);
+      t.checkExpect(this.engine.generate(5, 1, 3, algorithms[i]).numCarved, 4);
+    }
+    t.checkExpect(Arrays.equals(this.engine.generate(3, 3, 42, "kruskal").cells, this.g3.cells),
+        true);
+    t.checkExpect(this.engine.generator("eller") instanceof EllerMazeGenerator, true);
+    t.checkException(new IllegalArgumentException("Unknown generation algorithm: prim"),
+        this.engine, "generator", "prim");
+  }
+
+  // tests for the EllerRows class
+  void testEllerRows(Tester t) { 
+    EllerRows rows = new EllerRows(4, 2, 5);
+    byte[] passages = new byte[4];
+    t.checkExpect(rows.isDone(), false);
+    rows.nextRow(passages);
+    // every set of the first row has a passage down, so some cell does
+    boolean down = false;
+    for (int x = 0; x < 4; x++) { 
+      down = down || (passages[x] & MazeGrid.DOWN) != 0;
+    }
+    t.checkExpect(down, true);
+    // the set numbers stay below the width
+    for (int x = 0; x < 4; x++) { 
+      t.checkExpect(rows.label[x] >= 0 && rows.label[x] < 4, true);
+    }
+    rows.nextRow(passages);
+    t.checkExpect(rows.isDone(), true);
+    t.checkException(new IllegalStateException("Every row has already been generated"),
+        rows, "nextRow", passages);
+
+    // a single row is one corridor
+    EllerRows single = new EllerRows(3, 1, 5);
+    single.nextRow(passages);
+    t.checkExpect(passages[0], MazeGrid.RIGHT);
+    t.checkExpect(passages[1], MazeGrid.RIGHT);
+    t.checkExpect(passages[2], (byte) 0);
+  }
+
+  // tests for the MazeGrid's hasNeighbor and edge methods
+  void testGridEdges(Tester t) { 
+    initExamples();
+
+    t.checkExpect(this.g3.hasNeighbor(0, MazeGrid.UP), false);
+    t.checkExpect(this.g3.hasNeighbor(0, MazeGrid.LEFT), false);
+    t.checkExpect(this.g3.hasNeighbor(4, MazeGrid.UP), true);
+    t.checkExpect(this.g3.hasNeighbor(5, MazeGrid.RIGHT), false);
+    t.checkExpect(this.g3.hasNeighbor(7, MazeGrid.DOWN), false);
+    t.checkExpect(this.g3.edge(4, MazeGrid.RIGHT), 8);
+    t.checkExpect(this.g3.edge(4, MazeGrid.DOWN), 9);
+    t.checkExpect(this.g3.edge(4, MazeGrid.LEFT), 6);
+    t.checkExpect(this.g3.edge(4, MazeGrid.UP), 3);
+  }
+
+  // tests for the DisjointSet's reset method
+  void testResetSets(Tester t) { 
+    DisjointSet sets = new DisjointSet(4);
+    sets.union(0, 1);
+    sets.union(2, 3);
+    sets.reset();
+    t.checkExpect(sets.find(1), 1);
+    t.checkExpect(sets.union(1, 0), true);
+  }
+
+  // tests for the MazeStreamer class
+  void testMazeStreamer(Tester t) { 
+    t.checkExpect(MazeStreamer.rowBytes(8), 2);
+    t.checkExpect(MazeStreamer.rowBytes(9), 3);
+    t.checkExpect(MazeStreamer.mazeBytes(9, 1000000), 3000000L);
+
+    ByteBuffer packed = ByteBuffer.allocate(2);
+    MazeStreamer.packRow(new byte[] { 1, 2, 3, 15, 4 }, 5, packed);
+    t.checkExpect(packed.get(0), (byte) 0xf9);
+    t.checkExpect(packed.get(1), (byte) 0);
+
+    // a buffer smaller than a row still writes whole rows, and the rows match Eller's maze
+    MazeGrid grid = new EllerMazeGenerator().generate(13, 9, 4);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    long written = 0;
+    try {
+      written = new MazeStreamer(3).stream(13, 9, 4, Channels.newChannel(bytes));
+    }
+    catch (IOException e) { 
+      throw new UncheckedIOException(e);
+    }
+    t.checkExpect(written, MazeStreamer.mazeBytes(13, 9));
+    byte[] rows = bytes.toByteArray();
+    t.checkExpect((long) rows.length, written);
+    boolean same = true;
+    for (int cell = 0; cell < grid.numCells; cell++) { 
+      int x = grid.x(cell);
+      int bits = rows[grid.y(cell) * MazeStreamer.rowBytes(13) + x / 4] >> (x % 4 * 2) & 3;
+      same = same && bits == (grid.cells[cell] & MazeStreamer.WRITTEN);
+    }
+    t.checkExpect(same, true);
+    t.checkConstructorException(
+        new IllegalArgumentException("The buffer must hold at least one byte"),
+        "MazeStreamer", 0);
+  }
+
+  // tests for the MazeFile and MappedMazeGrid classes
+  void testMazeFile(Tester t) { 
+    initExamples();
+
+    MazeGrid grid = this.engine.generate(13, 7, 21, "wilson");
+    MappedMazeGrid mapped = null;
+    String notMaze = "";
+    String truncated = "";
+    String negative = "";
+    try {
+      Path file = Files.createTempFile("maze", ".bin");
+      // deleted on exit, since some systems cannot delete a file while it is mapped
+      file.toFile().deleteOnExit();
+      MazeFile.write(grid, "wilson", file);
+      t.checkExpect(Files.size(file), 40L + 4 * 7);
+      mapped = MazeFile.load(file);
+
+      // the mapping follows the file, so the broken files are written elsewhere
+      Path broken = Files.createTempFile("maze", ".bin");
+      Files.write(broken, new byte[40]);
+      try { 
+        MazeFile.load(broken);
+      }
+      catch (IOException e) { 
+        notMaze = e.getMessage();
+      }
+      Files.copy(file, broken, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+      try (FileChannel channel = FileChannel.open(broken,
+          java.nio.file.StandardOpenOption.WRITE)) { 
+        channel.truncate(60);
+      }
+      try { 
+        MazeFile.load(broken);
+      }
+      catch (IOException e) { 
+        truncated = e.getMessage();
+      }
+      // a width and height of -1 multiply to a size that would fit
+      Files.write(broken, Arrays.copyOf(MazeFile.header(-1, -1, 0, "wilson").array(), 41));
+      try { 
+        MazeFile.load(broken);
+      }
+      catch (IOException e) { 
+        negative = e.getMessage();
+      }
+      Files.delete(broken);
+
+      // a loaded maze can be written out again, byte for byte the same
+      Path copy = Files.createTempFile("maze", ".bin");
+      MazeFile.write(mapped, mapped.generator, copy);
+      t.checkExpect(Arrays.equals(Files.readAllBytes(copy), Files.readAllBytes(file)), true);
+      Files.delete(copy);
+    }
+    catch (IOException e) { 
+      throw new UncheckedIOException(e);
+    }
+    t.checkExpect(notMaze.startsWith("Not a maze file"), true);
+    t.checkExpect(truncated.startsWith("The maze file is truncated"), true);
+    t.checkExpect(negative.startsWith("The maze has a negative size"), true);
+
+    // the mapped maze has the same size, seed and passages as the one written
+    t.checkExpect(mapped.width, 13);
+    t.checkExpect(mapped.height, 7);
+    t.checkExpect(mapped.seed, 21L);
+    t.checkExpect(mapped.generator, "wilson");
+    boolean same = true;
+    for (int cell = 0; cell < grid.numCells; cell++) { 
+      for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) { 
+        byte dir = MazeGrid.DIRECTIONS[i];
+        same = same && mapped.isOpen(cell, dir) == grid.isOpen(cell, dir);
+      }
+    }
+    t.checkExpect(same, true);
+    // solvers run straight over the mapped rows
+    t.checkExpect(Arrays.equals(this.engine.solve(mapped, "astar").path,
+        this.engine.solve(grid, "bfs").path), true);
+    t.checkException(new UnsupportedOperationException("Cannot carve into a mapped maze"),
+        mapped, "carve", 0);
+    t.checkException(new UnsupportedOperationException("Cannot clear a mapped maze"),
+        mapped, "clear", 1L);
+    t.checkException(
+        new IllegalArgumentException("Generator names are at most 16 characters long"),
+        new MazeFile(), "header", 1, 1, 0L, "a very long generator name");
+  }
+
+  // tests for generating the same mazes from the same seed
+  void testSeeds(Tester t) { 
+    initExamples();
+
+    MazeWorld first = new MazeWorld(5, 6, 99);
+    MazeWorld second = new MazeWorld(5, 6, 99);
+    t.checkExpect(first.grid.seed, 99L);
+    t.checkExpect(Arrays.equals(first.grid.cells, second.grid.cells), true);
+    // pressing R makes the same sequence of mazes in both worlds
+    first.onKeyEvent("r");
+    second.onKeyEvent("r");
+    t.checkExpect(first.grid.seed, second.grid.seed);
+    t.checkExpect(Arrays.equals(first.grid.cells, second.grid.cells), true);
+    // and a reset to the first seed brings back the first maze
+    first.reset(99);
+    t.checkExpect(Arrays.equals(first.grid.cells, new MazeWorld(5, 6, 99).grid.cells), true);
+    t.checkExpect(first.edgesShown, 0);
+    t.checkExpect(first.searchAlgo, "none");
+
+    // weights depend on nothing but the seed and the edge
+    t.checkExpect(MazeEngine.edgeWeight(3, 17), MazeEngine.edgeWeight(3, 17));
+    t.checkExpect(MazeEngine.edgeWeight(3, 17) == MazeEngine.edgeWeight(4, 17)
+        && MazeEngine.edgeWeight(3, 18) == MazeEngine.edgeWeight(4, 18), false);
+    boolean inRange = true;
+    for (int edge = 0; edge < 10000; edge++) { 
+      int weight = MazeEngine.edgeWeight(edge * 31L, edge);
+      inRange = inRange && weight >= 0 && weight < MazeEngine.MAX_WEIGHT;
+    }
+    t.checkExpect(inRange, true);
+    t.checkExpect(this.engine.edgeWeights(this.g3)[2], MazeEngine.edgeWeight(42, 2));
+  }
+
+  // tests for the TreeIndex class
+  void testTreeIndex(Tester t) { 
+    initExamples();
+
+    MazeGrid grid = this.engine.generate(20, 15, 12, "backtracker");
+    TreeIndex index = new TreeIndex(grid);
+    t.checkExpect(index.ancestor(grid.goal(), grid.start()), grid.start());
+    t.checkExpect(index.distance(37, 37), 0);
+    t.checkExpect(Arrays.toString(index.path(37, 37)), "[37]");
+    // the same paths a search finds, between cells all over the maze
+    boolean same = true;
+    for (int a = 0; a < grid.numCells; a += 7) { 
+      for (int b = 3; b < grid.numCells; b += 11) { 
+        int[] expected = new BidirectionalSolver().solve(grid, a, b).path;
+        same = same && Arrays.equals(index.path(a, b), expected)
+            && index.distance(a, b) == expected.length - 1;
+      }
+    }
+    t.checkExpect(same, true);
+    t.checkExpect(index.distance(0, grid.goal()), this.engine.solve(grid, "bfs").path.length - 1);
+
+    // only trees can be indexed
+    MazeGrid loop = new MazeGrid(2, 2, 0, new byte[4], new int[4]);
+    loop.carve(0);
+    loop.carve(1);
+    loop.carve(3);
+    loop.carve(4);
+    t.checkConstructorException(
+        new IllegalArgumentException("The maze has a loop, so it is not a tree"),
+        "TreeIndex", loop);
+    MazeGrid apart = new MazeGrid(2, 2, 0);
+    apart.carve(0);
+    t.checkConstructorException(
+        new IllegalArgumentException("Some cells cannot be reached from the start"),
+        "TreeIndex", apart);
+    t.checkExpect(new TreeIndex(new MazeGrid(1, 1, 0)).distance(0, 0), 0);
+  }
+
+  // tests for the MazeSnapshot class
+  void testMazeSnapshot(Tester t) { 
+    MazeGrid grid = new MazeGrid(2, 2, 0);
+    grid.carve(0);
+    MazeSnapshot snapshot = new MazeSnapshot(grid);
+    // changes after the snapshot is taken are not seen
+    grid.carve(1);
+    t.checkExpect(snapshot.isOpen(0, MazeGrid.RIGHT), true);
+    t.checkExpect(snapshot.isOpen(1, MazeGrid.LEFT), true);
+    t.checkExpect(snapshot.isOpen(0, MazeGrid.DOWN), false);
+    t.checkExpect(snapshot.neighbor(3, MazeGrid.UP), 1);
+    t.checkExpect(snapshot.numCells, 4);
+  }
+
+  // tests for the BatchSolver class
+  void testBatchSolver(Tester t) { 
+    initExamples();
+
+    MazeGrid grid = this.engine.generate(25, 18, 6);
+    ForkJoinPool four = new ForkJoinPool(4);
+    BatchSolver batch = new BatchSolver(new MazeSnapshot(grid), four);
+    int[] starts = new int[300];
+    int[] goals = new int[300];
+    for (int i = 0; i < 300; i++) { 
+      starts[i] = i * 37 % grid.numCells;
+      goals[i] = i * 101 % grid.numCells;
+    }
+    int[][] paths = batch.solveAll(starts, goals);
+    boolean same = true;
+    for (int i = 0; i < 300; i++) { 
+      int[] expected = new BidirectionalSolver().solve(grid, starts[i], goals[i]).path;
+      same = same && Arrays.equals(paths[i], expected);
+    }
+    t.checkExpect(same, true);
+    // the buffers are left clean, so a second batch finds the same paths
+    t.checkExpect(Arrays.deepEquals(batch.solveAll(starts, goals), paths), true);
+    t.checkExpect(Arrays.toString(batch.solveAll(new int[] { 9 }, new int[] { 9 })[0]), "[9]");
+
+    MazeGrid apart = new MazeGrid(2, 2, 0);
+    apart.carve(0);
+    int[][] cut = new BatchSolver(new MazeSnapshot(apart), ForkJoinPool.commonPool())
+        .solveAll(new int[] { 0, 0 }, new int[] { 3, 1 });
+    t.checkExpect(cut[0].length, 0);
+    t.checkExpect(Arrays.toString(cut[1]), "[0, 1]");
+    t.checkException(new IllegalArgumentException("Every start needs a goal"), batch, "solveAll",
+        new int[] { 1, 2 }, new int[] { 1 });
+    four.shutdown();
+  }
+
+  // tests for the MazeMetrics class and the metrics the engine records
+  void testMazeMetrics(Tester t) { 
+    initExamples();
+
+    MazeGrid grid = this.engine.generate(10, 8, 3);
+    MazeMetrics metrics = this.engine.metrics;
+    t.checkExpect(metrics.generator, "kruskal");
+    t.checkExpect(metrics.width * metrics.height, 80);
+    t.checkExpect(metrics.edgesExamined >= 79 && metrics.edgesExamined <= grid.numEdges(), true);
+    t.checkExpect(metrics.edgesRejected, metrics.edgesExamined - 79);
+    // two finds for every edge examined
+    t.checkExpect(metrics.finds, 2 * metrics.edgesExamined);
+    t.checkExpect(metrics.averageFindDepth() <= metrics.maxFindDepth, true);
+    t.checkExpect(metrics.generationNanos >= metrics.carveNanos, true);
+    t.checkExpect(metrics.generationNanos, metrics.initEdgesNanos + metrics.edgeWeightsNanos
+        + metrics.sortEdgesNanos + metrics.carveNanos);
+    // the set up is timed in startGenerating, which the chunked generation shares
+    KruskalGenerator started = this.engine.startGenerating(10, 8, 3);
+    t.checkExpect(started.sortEdgesNanos >= 0 && started.initEdgesNanos >= 0, true);
+    t.checkExpect(started.sets instanceof CountingDisjointSet, true);
+    t.checkExpect(metrics.toJson().contains("\"edgesRejected\":" + metrics.edgesRejected + ","),
+        true);
+
+    MazeSolution solution = this.engine.solve(grid, "bfs");
+    t.checkExpect(metrics.solver, "bfs");
+    t.checkExpect(metrics.pathLength, solution.path.length - 1);
+    t.checkExpect(metrics.cellsExpanded, solution.cellsExpanded);
+    t.checkExpect(metrics.peakFrontier, solution.peakFrontier);
+    t.checkExpect(metrics.peakFrontier >= 1, true);
+    t.checkExpect(metrics.toJson().endsWith("\"pathLength\":" + metrics.pathLength
+        + ",\"nanos\":" + metrics.solveNanos + ",\"allocatedBytes\":" + metrics.solveBytes
+        + "}}"), true);
+
+    // other generators have no Kruskal's counts
+    this.engine.generate(10, 8, 3, "eller");
+    t.checkExpect(metrics.generator, "eller");
+    t.checkExpect(metrics.edgesExamined, 0L);
+    t.checkExpect(metrics.averageFindDepth(), 0.0);
+
+    t.checkExpect(new MazeSolution(new int[0], new int[0], 0, 0).moves(), -1);
+    t.checkExpect(MazeMetrics.allocatedSince(-1), -1L);
+    CountingDisjointSet sets = new CountingDisjointSet(3);
+    sets.union(0, 1);
+    sets.union(1, 2);
+    t.checkExpect(sets.finds, 4L);
+    t.checkExpect(sets.maxFindDepth, 1);
+    sets.reset();
+    t.checkExpect(sets.finds, 0L);
+    t.checkExpect(sets.find(2), 2);
+
+    // the JSON dump is written only when asked for
+    try {
+      Path file = Files.createTempFile("metrics", ".json");
+      System.setProperty("maze.metrics", file.toString());
+      this.engine.solve(grid, "dfs");
+      System.clearProperty("maze.metrics");
+      t.checkExpect(new String(Files.readAllBytes(file), "UTF-8"), metrics.toJson());
+      Files.delete(file);
+    }
+    catch (IOException e) { 
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // tests for the MazeArena class and for reusing buffers when the world is reset
+  void testMazeArena(Tester t) { 
+    initExamples();
+
+    MazeArena arena = new MazeArena(9, 7);
+    MazeGrid first = arena.generate(5);
+    t.checkExpect(Arrays.equals(first.cells, this.engine.generate(9, 7, 5).cells), true);
+    MazeGrid second = arena.generate(6);
+    MazeGrid expected = this.engine.generate(9, 7, 6);
+    t.checkExpect(second == first, true);
+    t.checkExpect(second.seed, 6L);
+    t.checkExpect(second.numCarved, 62);
+    t.checkExpect(Arrays.equals(second.cells, expected.cells), true);
+    t.checkExpect(Arrays.equals(second.carved, expected.carved), true);
+
+    // each maze is recorded in the metrics of the arena's engine
+    MazeMetrics metrics = arena.engine.metrics;
+    t.checkExpect(metrics.generator, "kruskal");
+    t.checkExpect(metrics.seed, 6L);
+    t.checkExpect(metrics.width * metrics.height, 63);
+    t.checkExpect(metrics.edgesExamined - metrics.edgesRejected, 62L);
+    t.checkExpect(metrics.generationNanos, metrics.initEdgesNanos + metrics.edgeWeightsNanos
+        + metrics.sortEdgesNanos + metrics.carveNanos);
+    try {
+      Path file = Files.createTempFile("metrics", ".json");
+      System.setProperty("maze.metrics", file.toString());
+      arena.generate(7);
+      System.clearProperty("maze.metrics");
+      t.checkExpect(new String(Files.readAllBytes(file), "UTF-8").contains("\"seed\":7,"), true);
+      Files.delete(file);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    // once warmed up, a maze costs no more than a few objects of bookkeeping
+    for (int i = 0; i < 20; i++) {
+      arena.generate(i);
+    }
+    long before = MazeMetrics.allocatedBytes();
+    arena.generate(100);
+    long allocated = MazeMetrics.allocatedSince(before);
+    t.checkExpect(allocated == -1 || allocated < 1024, true);
+
+    // the in place versions fill the arrays they are given
+    int[] weights = new int[this.g3.numEdges()];
+    t.checkExpect(this.engine.edgeWeights(this.g3, weights) == weights, true);
+    t.checkExpect(Arrays.equals(weights, this.engine.edgeWeights(this.g3)), true);
+    int[] edges = this.engine.initEdges(this.g3);
+    int[] sorted = new int[edges.length];
+    t.checkExpect(this.engine.sortEdges(edges, weights, sorted,
+        new int[MazeEngine.MAX_WEIGHT + 1]) == sorted, true);
+    t.checkExpect(Arrays.equals(sorted, this.engine.sortEdges(edges, weights)), true);
+
+    MazeGrid grid = new MazeGrid(2, 2, 1);
+    grid.carve(0);
+    grid.clear(3);
+    t.checkExpect(Arrays.equals(grid.cells, new byte[4]), true);
+    t.checkExpect(grid.numCarved, 0);
+    t.checkExpect(grid.seed, 3L);
+
+    // a reset keeps the board, the edges and the grid, and only refills them
+    MazeWorld world = new MazeWorld(6, 5, 8);
+    // the world's mazes are recorded in its engine's metrics
+    t.checkExpect(world.engine.metrics.seed, 8L);
+    t.checkExpect(world.engine.metrics.generator, "kruskal");
+    byte[] state = world.state;
+    ArrayList<Edge> worldEdges = world.edges();
+    Edge edge = world.edges().get(3);
+    MazeGrid worldGrid = world.grid;
+    world.onKeyEvent("b");
+    world.reset(9);
+    t.checkExpect(world.state == state, true);
+    t.checkExpect(Arrays.equals(world.state, new byte[30]), true);
+    t.checkExpect(world.edges() == worldEdges, true);
+    t.checkExpect(world.edges().get(3) == edge, true);
+    t.checkExpect(world.grid == worldGrid, true);
+    t.checkExpect(edge.weight, MazeEngine.edgeWeight(9, world.engine.initEdges(worldGrid)[3]));
+    t.checkExpect(Arrays.equals(world.grid.cells, this.engine.generate(5, 6, 9).cells), true);
+  }
+
+  // tests for the MazeRaster class and drawing the board as one image
+  void testMazeRaster(Tester t) { 
+    initExamples();
+
+    int fill = 0xff123456;
+    int wall = MazeRaster.WALL;
+    MazeRaster raster = new MazeRaster(2, 2, 4);
+    raster.render(this.g2, cell -> fill, MazeRaster.walls(this.g2));
+    t.checkExpect(raster.pixels.length, 64);
+    t.checkExpect(raster.pixel(0, 0), fill);
+    t.checkExpect(raster.pixel(5, 5), fill);
+    // both sides of the line between cells 0 and 1 are wall only if the edge was not carved
+    t.checkExpect(raster.pixel(3, 1), this.g2.isOpen(0, MazeGrid.RIGHT) ? fill : wall);
+    t.checkExpect(raster.pixel(4, 1), this.g2.isOpen(0, MazeGrid.RIGHT) ? fill : wall);
+    t.checkExpect(raster.pixel(1, 3), this.g2.isOpen(0, MazeGrid.DOWN) ? fill : wall);
+    t.checkExpect(raster.pixel(1, 4), this.g2.isOpen(0, MazeGrid.DOWN) ? fill : wall);
+
+    // small cells only draw their right and bottom walls
+    MazeRaster small = new MazeRaster(2, 2, 3);
+    small.render(this.g2, cell -> fill, edge -> true);
+    t.checkExpect(small.pixel(2, 0), wall);
+    t.checkExpect(small.pixel(3, 0), fill);
+    t.checkExpect(small.pixel(0, 2), wall);
+    t.checkExpect(small.pixel(0, 3), fill);
+
+    // drawing the rows on many threads gives the same pixels
+    MazeGrid grid = this.engine.generate(37, 23, 5);
+    MazeRaster one = new MazeRaster(37, 23, 5);
+    MazeRaster many = new MazeRaster(37, 23, 5);
+    one.render(grid, cell -> 0xff000000 | cell, MazeRaster.walls(grid));
+    ForkJoinPool four = new ForkJoinPool(4);
+    many.render(grid, cell -> 0xff000000 | cell, MazeRaster.walls(grid), four);
+    four.shutdown();
+    t.checkExpect(Arrays.equals(one.pixels, many.pixels), true);
+
+    t.checkConstructorException(new IllegalArgumentException(
+        "Cells must be at least 2 pixels wide"), "MazeRaster", 5, 5, 1);
+    t.checkConstructorException(new IllegalArgumentException(
+        "The maze is too large to draw at this cell size"), "MazeRaster", 30000, 30000, 2);
+
+    try { 
+      Path file = Files.createTempFile("maze", ".png");
+      one.write(file);
+      BufferedImage read = ImageIO.read(file.toFile());
+      t.checkExpect(read.getWidth(), 185);
+      t.checkExpect(read.getRGB(7, 7), one.pixel(7, 7));
+      Files.delete(file);
+    }
+    catch (IOException e) { 
+      throw new UncheckedIOException(e);
+    }
+
+    // boards over 100 cells on a side are drawn into a raster with smaller cells
+    MazeWorld big = new MazeWorld(120, 110, 3);
+    t.checkExpect(big.drawRaster, true);
+    t.checkExpect(big.displacement, 10);
+    big.makeScene();
+    t.checkExpect(big.raster.pixelWidth, 1100);
+    t.checkExpect(big.raster.pixel(15, 5), Color.LIGHT_GRAY.getRGB());
+    t.checkExpect(big.raster.pixel(5, 5), Color.green.getRGB());
+    big.setState(1, MazeWorld.VISITED);
+    big.makeScene();
+    t.checkExpect(big.raster.pixel(15, 5), Color.cyan.getRGB());
+    t.checkExpect(big.boardImage.getPixel(15, 5).getRGB(), Color.cyan.getRGB());
+    // the colors copied onto the image are made once and reused
+    Color wallColor = big.pixelColor(MazeRaster.WALL);
+    t.checkExpect(wallColor.getRGB(), MazeRaster.WALL);
+    t.checkExpect(big.pixelColor(MazeRaster.WALL) == wallColor, true);
+    t.checkExpect(this.m.drawRaster, false);
+    this.m.makeScene();
+    t.checkExpect(this.m.raster, null);
+  }
+
+  // tests for the DistanceField class and the heatmap
+  void testDistanceField(Tester t) { 
+    initExamples();
+
+    MazeGrid grid = this.engine.generate(23, 17, 6);
+    TreeIndex index = new TreeIndex(grid);
+    DistanceField toGoal = new DistanceField(grid, grid.goal());
+    DistanceField toCorners = new DistanceField(grid, grid.goal(), grid.start());
+    boolean matches = true;
+    boolean nearer = true;
+    for (int cell = 0; cell < grid.numCells; cell++) { 
+      matches = matches && toGoal.distance(cell) == index.distance(cell, grid.goal())
+          && toCorners.distance(cell) == Math.min(index.distance(cell, grid.goal()),
+              index.distance(cell, grid.start()));
+      nearer = nearer && (cell == grid.goal()
+          || toGoal.distance(toGoal.nextStep(cell)) == toGoal.distance(cell) - 1);
+    }
+    t.checkExpect(matches, true);
+    t.checkExpect(nearer, true);
+    t.checkExpect(toGoal.nextStep(grid.goal()), grid.goal());
+    t.checkExpect(toCorners.distance(grid.start()), 0);
+
+    // the path from the start is the one the search finds, cell for cell in the same order
+    int[] path = this.engine.solve(grid, "bfs").path;
+    int[] fromStart = toGoal.pathFrom(grid.start());
+    t.checkExpect(Arrays.equals(fromStart, path), true);
+    int farthest = 0;
+    for (int cell = 0; cell < grid.numCells; cell++) { 
+      if (toGoal.distance(cell) > toGoal.distance(farthest)) { 
+        farthest = cell;
+      }
+    }
+    t.checkExpect(toGoal.maxDistance, toGoal.distance(farthest));
+    t.checkExpect(MazeRaster.heatColor(toGoal, farthest), Color.red.getRGB());
+
+    // cells that cannot reach a goal have no distance and no next step
+    MazeGrid apart = new MazeGrid(2, 2, 0);
+    apart.carve(0);
+    DistanceField cut = new DistanceField(apart, 3);
+    t.checkExpect(cut.distance(0), -1);
+    t.checkExpect(cut.nextStep(1), -1);
+    t.checkExpect(cut.pathFrom(0).length, 0);
+    t.checkExpect(MazeRaster.heatColor(cut, 0), Color.LIGHT_GRAY.getRGB());
+    t.checkExpect(MazeRaster.heatColor(cut, 3), Color.HSBtoRGB(0.66f, 1, 1));
+    // the hues are the ones java.awt.Color makes, all the way around the wheel
+    boolean sameHues = true;
+    for (int i = 0; i <= 1000; i++) {
+      sameHues = sameHues && MazeRaster.hue(i / 1000f) == Color.HSBtoRGB(i / 1000f, 1, 1);
+    }
+    t.checkExpect(sameHues, true);
+    t.checkConstructorException(new IllegalArgumentException(
+        "A distance field needs at least one goal"), "DistanceField", apart, new int[0]);
+
+    // pressing H colors the board by distance, and a reset puts it back
+    this.m2.setNeighbors = true;
+    this.m2.makeScene();
+    this.m2.onKeyEvent("h");
+    t.checkExpect(this.m2.scene, null);
+    t.checkExpect(this.m2.cellAt(3).color, new Color(Color.HSBtoRGB(0.66f, 1, 1)));
+    t.checkExpect(this.m2.rgbOf(0), MazeRaster.heatColor(this.m2.field, 0));
+    this.m2.onKeyEvent("r");
+    t.checkExpect(this.m2.field, null);
+    t.checkExpect(this.m2.cellAt(3).color, Color.MAGENTA);
+  }
+
+  // tests that repainting a scene does not grow it without bound
+  void testSceneOverlays(Tester t) { 
+    initExamples();
+
+    int most = 0;
+    int rebuilds = 0;
+    WorldScene scene = this.m.makeScene();
+    // show the whole maze being generated and then searched, one frame per tick
+    while (this.m.endMsg.equals("")) { 
+      this.m.onTick();
+      if (this.m.setNeighbors && !this.m.searchStarted) { 
+        this.m.onKeyEvent("b");
+      }
+      WorldScene next = this.m.makeScene();
+      if (next != scene) { 
+        rebuilds++;
+        scene = next;
+      }
+      most = Math.max(most, this.m.repaints);
+    }
+    // a scene holds the board and at most one repaint per cell
+    t.checkExpect(most <= this.m.numCells, true);
+    t.checkExpect(rebuilds > 0, true);
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+// generates mazes of one size with Kruskal's over and over in the same arrays, for callers that
+// make many mazes one after another; once built, an arena allocates no arrays per maze, only
+// the event and the few small objects of bookkeeping that record it
+// the grid it returns is its own and is overwritten by the next maze, so copy anything that
+// has to outlive it; an arena is not safe to share between threads, so keep one per thread
+// every maze is recorded in the engine's metrics as MazeEngine.generate records it, except that
+// the finds are not counted
+class MazeArena {
+  // the engine whose helpers generate the mazes and whose metrics record them
+  MazeEngine engine;
+
+  // the grid every maze is carved into
+  MazeGrid grid;
+
+  // every edge of the grid, which only depends on its size
+  int[] edges;
+
+  // the weight of every edge of the current maze, in the same order as edges
+  int[] weights;
+
+  // the edges of the current maze sorted by weight
+  int[] sorted;
+
+  // the counts the sort works in
+  int[] starts = new int[MazeEngine.MAX_WEIGHT + 1];
+
+  // Kruskal's, kept between mazes with its union/find
+  KruskalGenerator kruskal;
+
+  MazeArena(int width, int height, MazeEngine engine) {
+    this.engine = engine;
+    this.grid = new MazeGrid(width, height, 0);
+    this.edges = this.engine.initEdges(this.grid);
+    this.weights = new int[this.edges.length];
+    this.sorted = new int[this.edges.length];
+    this.kruskal = new KruskalGenerator(this.grid, this.sorted);
+  }
+
+  MazeArena(int width, int height) {
+    this(width, height, new MazeEngine());
+  }
+
+  // generates the maze MazeEngine.generate makes from the given seed, in this arena's grid
+  // EFFECT: overwrites the grid and every buffer of this arena, and records the maze in the
+  // engine's metrics
+  MazeGrid generate(long seed) {
+    // a JFR event is committed once, so every maze gets its own
+    GenerationEvent event = new GenerationEvent();
+    event.begin();
+    long bytes = MazeMetrics.allocatedBytes();
+    long start = System.nanoTime();
+    this.grid.clear(seed);
+    long clearDone = System.nanoTime();
+    this.engine.edgeWeights(this.grid, this.weights);
+    long weightsDone = System.nanoTime();
+    this.engine.sortEdges(this.edges, this.weights, this.sorted, this.starts);
+    long sortDone = System.nanoTime();
+    this.kruskal.restart();
+    // the edges are kept between mazes, so only clearing the grid is left of building them
+    this.kruskal.initEdgesNanos = clearDone - start;
+    this.kruskal.edgeWeightsNanos = weightsDone - clearDone;
+    this.kruskal.sortEdgesNanos = sortDone - weightsDone;
+    this.kruskal.step(this.sorted.length);
+    this.engine.metrics.recordKruskal(this.kruskal, System.nanoTime() - sortDone,
+        MazeMetrics.allocatedSince(bytes));
+    this.engine.finish(event);
+    return this.grid;
+  }
+}
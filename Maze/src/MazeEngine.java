@@ -0,0 +1,250 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+// to generate and solve mazes without a display, running each algorithm to completion
+class MazeEngine {
+  static final String DFS = "dfs";
+  static final String BFS = "bfs";
+  static final String ASTAR = "astar";
+  static final String BIDIRECTIONAL = "bidi";
+  static final String PARALLEL_BFS = "pbfs";
+  static final String DIJKSTRA = "dijkstra";
+
+  static final String KRUSKAL = "kruskal";
+  static final String BACKTRACKER = "backtracker";
+  static final String WILSON = "wilson";
+  static final String ELLER = "eller";
+  static final String PARALLEL_KRUSKAL = "pkruskal";
+
+  // edge weights are drawn from 0 (inclusive) to this bound (exclusive)
+  static final int MAX_WEIGHT = 42000;
+
+  // passages cost from 1 to this much to move through in the terrain read from a maze's seed
+  static final int MAX_COST = 9;
+
+  // what was measured while generating and solving the most recent mazes
+  MazeMetrics metrics = new MazeMetrics();
+
+  // generates a new maze with Kruskal's algorithm, using edge weights drawn from the seed
+  // EFFECT: records each phase in the metrics
+  MazeGrid generate(int width, int height, long seed) {
+    GenerationEvent event = new GenerationEvent();
+    event.begin();
+    long bytes = MazeMetrics.allocatedBytes();
+    KruskalGenerator kruskal = this.startGenerating(width, height, seed);
+    long start = System.nanoTime();
+    kruskal.step(kruskal.edges.length);
+    this.metrics.recordKruskal(kruskal, System.nanoTime() - start,
+        MazeMetrics.allocatedSince(bytes));
+    this.finish(event);
+    return kruskal.grid;
+  }
+
+  // sets up Kruskal's algorithm for a new maze without carving anything, so that the caller
+  // can run it in chunks of edges
+  // the generator keeps how long each step of the set up took, and counts its finds
+  KruskalGenerator startGenerating(int width, int height, long seed) {
+    long start = System.nanoTime();
+    MazeGrid grid = new MazeGrid(width, height, seed);
+    int[] edges = this.initEdges(grid);
+    long edgesDone = System.nanoTime();
+    int[] weights = this.edgeWeights(grid);
+    long weightsDone = System.nanoTime();
+    KruskalGenerator kruskal = new KruskalGenerator(grid, this.sortEdges(edges, weights),
+        new CountingDisjointSet(grid.numCells));
+    kruskal.initEdgesNanos = edgesDone - start;
+    kruskal.edgeWeightsNanos = weightsDone - edgesDone;
+    kruskal.sortEdgesNanos = System.nanoTime() - weightsDone;
+    return kruskal;
+  }
+
+  // returns every edge between neighboring cells, row by row, with each cell's right edge
+  // before its bottom edge
+  int[] initEdges(MazeGrid grid) {
+    int[] edges = new int[grid.numEdges()];
+    int count = 0;
+    for (int y = 0; y < grid.height; y++) {
+      for (int x = 0; x < grid.width; x++) {
+        int cell = grid.index(x, y);
+        if (x + 1 != grid.width) {
+          edges[count] = cell * 2;
+          count++;
+        }
+        if (y + 1 != grid.height) {
+          edges[count] = cell * 2 + 1;
+          count++;
+        }
+      }
+    }
+    return edges;
+  }
+
+  // returns the random weight of every edge, in the same order as initEdges
+  int[] edgeWeights(MazeGrid grid) {
+    return this.edgeWeights(grid, new int[grid.numEdges()]);
+  }
+
+  // stores the random weight of every edge in the given array, in the same order as initEdges,
+  // and returns the array
+  // EFFECT: overwrites the first numEdges entries of weights
+  int[] edgeWeights(MazeGrid grid, int[] weights) {
+    int count = 0;
+    for (int y = 0; y < grid.height; y++) {
+      for (int x = 0; x < grid.width; x++) {
+        int cell = grid.index(x, y);
+        if (x + 1 != grid.width) {
+          weights[count] = edgeWeight(grid.seed, cell * 2);
+          count++;
+        }
+        if (y + 1 != grid.height) {
+          weights[count] = edgeWeight(grid.seed, cell * 2 + 1);
+          count++;
+        }
+      }
+    }
+    return weights;
+  }
+
+  // returns the random weight of the given edge in mazes generated from the given seed
+  // each weight is a hash of the seed and the edge number alone, the way SplittableRandom mixes
+  // its state, so any edge's weight can be found on any thread in any order, and the same seed
+  // and size always make the same maze
+  static int edgeWeight(long seed, int edge) {
+    long z = seed + (edge + 1) * 0x9e3779b97f4a7c15L;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    z = z ^ (z >>> 31);
+    return (int) ((z >>> 32) * MAX_WEIGHT >>> 32);
+  }
+
+  // returns the given edges ordered by their weights, with edges of equal weight kept in their
+  // original order
+  // weights are bounded by MAX_WEIGHT, so this is a counting sort in O(edges + MAX_WEIGHT)
+  int[] sortEdges(int[] edges, int[] weights) {
+    return this.sortEdges(edges, weights, new int[edges.length], new int[MAX_WEIGHT + 1]);
+  }
+
+  // stores the given edges ordered by their weights in sorted, using starts for the counts, and
+  // returns sorted
+  // EFFECT: overwrites sorted, and starts, which must hold MAX_WEIGHT + 1 entries
+  int[] sortEdges(int[] edges, int[] weights, int[] sorted, int[] starts) {
+    // count the edges of each weight, then turn the counts into starting positions
+    Arrays.fill(starts, 0);
+    for (int i = 0; i < edges.length; i++) {
+      starts[weights[i] + 1]++;
+    }
+    for (int w = 0; w < MAX_WEIGHT; w++) {
+      starts[w + 1] += starts[w];
+    }
+
+    for (int i = 0; i < edges.length; i++) {
+      sorted[starts[weights[i]]] = edges[i];
+      starts[weights[i]]++;
+    }
+    return sorted;
+  }
+
+  // returns the generator for the given algorithm
+  MazeGenerator generator(String algorithm) {
+    if (algorithm.equals(KRUSKAL)) {
+      return new KruskalMazeGenerator();
+    }
+    else if (algorithm.equals(BACKTRACKER)) {
+      return new BacktrackerMazeGenerator();
+    }
+    else if (algorithm.equals(WILSON)) {
+      return new WilsonMazeGenerator();
+    }
+    else if (algorithm.equals(ELLER)) {
+      return new EllerMazeGenerator();
+    }
+    else if (algorithm.equals(PARALLEL_KRUSKAL)) {
+      return new ParallelMazeGenerator(64, ForkJoinPool.commonPool());
+    }
+    else {
+      throw new IllegalArgumentException("Unknown generation algorithm: " + algorithm);
+    }
+  }
+
+  // generates a new maze with the given algorithm, using random choices drawn from the seed
+  // EFFECT: records the generation in the metrics
+  MazeGrid generate(int width, int height, long seed, String algorithm) {
+    if (algorithm.equals(KRUSKAL)) {
+      return this.generate(width, height, seed);
+    }
+    MazeGenerator generator = this.generator(algorithm);
+    GenerationEvent event = new GenerationEvent();
+    event.begin();
+    long bytes = MazeMetrics.allocatedBytes();
+    long start = System.nanoTime();
+    MazeGrid grid = generator.generate(width, height, seed);
+    this.metrics.recordGeneration(algorithm, grid, System.nanoTime() - start,
+        MazeMetrics.allocatedSince(bytes));
+    this.finish(event);
+    return grid;
+  }
+
+  // ends and records the given generation event, and dumps the metrics if asked to
+  void finish(GenerationEvent event) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.set(this.metrics);
+      event.commit();
+    }
+    this.metrics.dump();
+  }
+
+  // returns the cost of moving through every passage of the given maze, by edge number
+  // the terrain is read from the same weights Kruskal's carves the maze with, scaled to 1 to
+  // MAX_COST, so it only depends on the seed
+  static int[] passageCosts(MazeGrid grid) {
+    int[] costs = new int[grid.numCells * 2];
+    for (int edge = 0; edge < costs.length; edge++) {
+      costs[edge] = 1 + (int) ((long) edgeWeight(grid.seed, edge) * MAX_COST / MAX_WEIGHT);
+    }
+    return costs;
+  }
+
+  // returns the solver for the given algorithm
+  MazeSolver solver(String algorithm) {
+    if (algorithm.equals(DFS)) {
+      return new WorklistSolver(true);
+    }
+    else if (algorithm.equals(BFS)) {
+      return new WorklistSolver(false);
+    }
+    else if (algorithm.equals(ASTAR)) {
+      return new AStarSolver();
+    }
+    else if (algorithm.equals(BIDIRECTIONAL)) {
+      return new BidirectionalSolver();
+    }
+    else if (algorithm.equals(PARALLEL_BFS)) {
+      return new ParallelBfsSolver(ForkJoinPool.commonPool());
+    }
+    else if (algorithm.equals(DIJKSTRA)) {
+      return new DijkstraSolver();
+    }
+    else {
+      throw new IllegalArgumentException("Unknown search algorithm: " + algorithm);
+    }
+  }
+
+  // solves the given maze from its start to its goal with the given algorithm
+  // EFFECT: records the search in the metrics
+  MazeSolution solve(MazeGrid maze, String algorithm) {
+    MazeSolver solver = this.solver(algorithm);
+    SolveEvent event = new SolveEvent();
+    event.begin();
+    long bytes = MazeMetrics.allocatedBytes();
+    MazeSolution solution = solver.solve(maze, maze.start(), maze.goal());
+    this.metrics.recordSolve(algorithm, solution, MazeMetrics.allocatedSince(bytes));
+    event.end();
+    if (event.shouldCommit()) {
+      event.set(this.metrics);
+      event.commit();
+    }
+    this.metrics.dump();
+    return solution;
+  }
+}
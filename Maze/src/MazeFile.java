@@ -0,0 +1,107 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+// reads and writes mazes in a compact binary format: a 40 byte header followed by the maze's
+// rows packed as MazeStreamer writes them, two bits per cell
+// the header holds, in big-endian order, the magic number, the format version, the width, the
+// height, the seed, and the name of the generator in 16 ASCII bytes padded with zeros
+class MazeFile {
+  // "MAZE" in ASCII
+  static final int MAGIC = 0x4d415a45;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 40;
+  static final int GENERATOR_BYTES = 16;
+
+  // returns the header of a maze file, ready to be written
+  static ByteBuffer header(int width, int height, long seed, String generator) {
+    byte[] name = generator.getBytes(StandardCharsets.US_ASCII);
+    if (name.length > GENERATOR_BYTES) {
+      throw new IllegalArgumentException("Generator names are at most 16 characters long");
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).putLong(seed).put(name);
+    header.clear();
+    return header;
+  }
+
+  // writes the given maze to the given file, replacing anything already there
+  // the passages are read through isOpen, so a maze loaded from a file can be written again
+  // EFFECT: creates or overwrites the file
+  static void write(MazeGrid grid, String generator, Path file) throws IOException {
+    try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(header(grid.width, grid.height, grid.seed, generator), out);
+      MazeStreamer streamer = new MazeStreamer();
+
+      int rowBytes = MazeStreamer.rowBytes(grid.width);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(
+          Math.max(streamer.bufferSize / Math.max(rowBytes, 1), 1) * Math.max(rowBytes, 1));
+      byte[] passages = new byte[grid.width];
+      for (int y = 0; y < grid.height; y++) {
+        for (int x = 0; x < grid.width; x++) {
+          int cell = grid.index(x, y);
+          passages[x] = (byte) ((grid.isOpen(cell, MazeGrid.RIGHT) ? MazeGrid.RIGHT : 0)
+              | (grid.isOpen(cell, MazeGrid.DOWN) ? MazeGrid.DOWN : 0));
+        }
+        if (buffer.remaining() < rowBytes) {
+          streamer.drain(buffer, out);
+        }
+        MazeStreamer.packRow(passages, grid.width, buffer);
+      }
+      streamer.drain(buffer, out);
+    }
+  }
+
+  // writes everything left in the buffer to the channel
+  // EFFECT: writes to the channel and moves the buffer's position to its limit
+  static void writeFully(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  // maps the given maze file into memory, without reading its rows
+  static MappedMazeGrid load(Path file) throws IOException {
+    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (in.size() < HEADER_BYTES) {
+        throw new IOException("Not a maze file: " + file);
+      }
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0,
+          Math.min(in.size(), Integer.MAX_VALUE));
+      if (mapped.getInt(0) != MAGIC) {
+        throw new IOException("Not a maze file: " + file);
+      }
+      if (mapped.getInt(4) != VERSION) {
+        throw new IOException("Unsupported maze file version " + mapped.getInt(4) + ": " + file);
+      }
+      int width = mapped.getInt(8);
+      int height = mapped.getInt(12);
+      long seed = mapped.getLong(16);
+      if (width < 0 || height < 0) {
+        throw new IOException("The maze has a negative size: " + file);
+      }
+      if ((long) width * height > Integer.MAX_VALUE
+          || HEADER_BYTES + MazeStreamer.mazeBytes(width, height) > Integer.MAX_VALUE) {
+        throw new IOException("The maze is too large to load: " + file);
+      }
+      if (in.size() < HEADER_BYTES + MazeStreamer.mazeBytes(width, height)) {
+        throw new IOException("The maze file is truncated: " + file);
+      }
+
+      byte[] name = new byte[GENERATOR_BYTES];
+      mapped.position(24);
+      mapped.get(name);
+      mapped.clear();
+      int length = 0;
+      while (length < GENERATOR_BYTES && name[length] != 0) {
+        length++;
+      }
+      return new MappedMazeGrid(width, height, seed,
+          new String(name, 0, length, StandardCharsets.US_ASCII), mapped, HEADER_BYTES);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+// an algorithm that carves a perfect maze, with exactly one path between any two cells
+interface MazeGenerator {
+  // generates a new maze of the given size, making the same random choices for the same seed
+  MazeGrid generate(int width, int height, long seed);
+}
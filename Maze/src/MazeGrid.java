@@ -0,0 +1,190 @@
+import java.util.*;
+
+// to represent a generated maze as a grid of cells, each holding the passages out of it
+// cells are numbered row by row, so the cell at (x, y) has the index y * width + x
+class MazeGrid {
+  // passage bits, set when there is no wall between a cell and its neighbor
+  static final byte RIGHT = 1;
+  static final byte DOWN = 2;
+  static final byte LEFT = 4;
+  static final byte UP = 8;
+
+  // every direction, in the order in which searches look at the neighbors of a cell
+  static final byte[] DIRECTIONS = { UP, RIGHT, LEFT, DOWN };
+
+  // number of cells horizontally
+  int width;
+
+  // number of cells vertically
+  int height;
+
+  // number of cells in the maze
+  int numCells;
+
+  // the seed this maze was generated from
+  long seed;
+
+  // the open passages of every cell
+  byte[] cells;
+
+  // the edges added to the spanning tree, in the order they were carved
+  // an edge is numbered cell * 2 for the passage to the right and cell * 2 + 1 for the one below
+  int[] carved;
+
+  // number of edges carved so far
+  int numCarved = 0;
+
+  MazeGrid(int width, int height, long seed) {
+    this(width, height, seed, new byte[width * height], new int[Math.max(width * height - 1, 0)]);
+  }
+
+  // a maze of the given size whose passages are kept in the given arrays
+  MazeGrid(int width, int height, long seed, byte[] cells, int[] carved) {
+    this.width = width;
+    this.height = height;
+    this.numCells = width * height;
+    this.seed = seed;
+    this.cells = cells;
+    this.carved = carved;
+  }
+
+  // walls off every cell again so the grid can be carved into a new maze of the same size
+  // EFFECT: closes every passage, forgets the carved edges, and takes the given seed
+  void clear(long seed) {
+    Arrays.fill(this.cells, (byte) 0);
+    this.numCarved = 0;
+    this.seed = seed;
+  }
+
+  // returns the index of the cell at the given column and row
+  int index(int x, int y) {
+    return y * this.width + x;
+  }
+
+  // returns the column of the given cell
+  int x(int cell) {
+    return cell % this.width;
+  }
+
+  // returns the row of the given cell
+  int y(int cell) {
+    return cell / this.width;
+  }
+
+  // returns the number of edges between neighboring cells
+  int numEdges() {
+    return (this.width - 1) * this.height + this.width * (this.height - 1);
+  }
+
+  // returns the cell every search starts from
+  int start() {
+    return 0;
+  }
+
+  // returns the cell every search is looking for
+  int goal() {
+    return this.numCells - 1;
+  }
+
+  // is there a passage from the given cell in the given direction?
+  boolean isOpen(int cell, byte dir) {
+    return (this.cells[cell] & dir) != 0;
+  }
+
+  // returns the cell reached by leaving the given cell in the given direction
+  int neighbor(int cell, byte dir) {
+    if (dir == RIGHT) {
+      return cell + 1;
+    }
+    else if (dir == DOWN) {
+      return cell + this.width;
+    }
+    else if (dir == LEFT) {
+      return cell - 1;
+    }
+    else {
+      return cell - this.width;
+    }
+  }
+
+  // does the given cell have a neighbor in the given direction, or is it on that edge of the
+  // grid?
+  boolean hasNeighbor(int cell, byte dir) {
+    if (dir == RIGHT) {
+      return this.x(cell) + 1 < this.width;
+    }
+    else if (dir == DOWN) {
+      return this.y(cell) + 1 < this.height;
+    }
+    else if (dir == LEFT) {
+      return this.x(cell) > 0;
+    }
+    else {
+      return this.y(cell) > 0;
+    }
+  }
+
+  // returns the edge between the given cell and its neighbor in the given direction
+  int edge(int cell, byte dir) {
+    if (dir == RIGHT) {
+      return cell * 2;
+    }
+    else if (dir == DOWN) {
+      return cell * 2 + 1;
+    }
+    else if (dir == LEFT) {
+      return (cell - 1) * 2;
+    }
+    else {
+      return (cell - this.width) * 2 + 1;
+    }
+  }
+
+  // returns the edge between the given neighboring cells
+  int edgeBetween(int a, int b) {
+    if (b == a + 1) {
+      return a * 2;
+    }
+    else if (b == a - 1) {
+      return b * 2;
+    }
+    else if (b == a + this.width) {
+      return a * 2 + 1;
+    }
+    else {
+      return b * 2 + 1;
+    }
+  }
+
+  // returns the cell on the near side of the given edge
+  int edgeTo(int edge) {
+    return edge >> 1;
+  }
+
+  // returns the cell on the far side of the given edge
+  int edgeFrom(int edge) {
+    if ((edge & 1) == 0) {
+      return (edge >> 1) + 1;
+    }
+    else {
+      return (edge >> 1) + this.width;
+    }
+  }
+
+  // removes the wall along the given edge
+  // EFFECT: opens the passage on both sides of the edge and records it as carved
+  void carve(int edge) {
+    int to = this.edgeTo(edge);
+    int from = this.edgeFrom(edge);
+    if ((edge & 1) == 0) {
+      this.cells[to] |= RIGHT;
+      this.cells[from] |= LEFT;
+    }
+    else {
+      this.cells[to] |= DOWN;
+      this.cells[from] |= UP;
+    }
+    this.carved[this.numCarved] = edge;
+    this.numCarved++;
+  }
+}
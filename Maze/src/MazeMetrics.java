@@ -0,0 +1,170 @@
+import java.io.*;
+import java.lang.management.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+// what the engine measured while generating and solving its most recent mazes
+// each generation and solve is also recorded as a Java Flight Recorder event, and when the
+// maze.metrics system property names a file, these metrics are written there as JSON after each
+// one; allocations are counted on the calling thread only, so the parallel generator's and
+// solver's workers are not included
+class MazeMetrics {
+  // the algorithm, size and seed of the last maze generated
+  String generator = "";
+  int width = 0;
+  int height = 0;
+  long seed = 0;
+
+  // number of edges Kruskal's looked at, and how many of them would have closed a loop
+  long edgesExamined = 0;
+  long edgesRejected = 0;
+
+  // number of union/find finds, the total number of parents they followed, and the most any
+  // one followed
+  long finds = 0;
+  long findSteps = 0;
+  int maxFindDepth = 0;
+
+  // wall-clock time of each phase of Kruskal's, and of the whole generation, in nanoseconds
+  long initEdgesNanos = 0;
+  long edgeWeightsNanos = 0;
+  long sortEdgesNanos = 0;
+  long carveNanos = 0;
+  long generationNanos = 0;
+
+  // bytes allocated while generating, or -1 if the JVM cannot tell
+  long generationBytes = 0;
+
+  // the algorithm of the last search, what it expanded, the most cells it had waiting, and
+  // the number of moves along the path it found
+  String solver = "";
+  int cellsExpanded = 0;
+  int peakFrontier = 0;
+  int pathLength = 0;
+
+  // wall-clock time of the last search, in nanoseconds, and the bytes it allocated
+  long solveNanos = 0;
+  long solveBytes = 0;
+
+  // the JVM's view of its threads, looked up once since looking it up allocates
+  static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  // returns the number of bytes the current thread has allocated so far, or -1 if the JVM
+  // cannot tell
+  static long allocatedBytes() {
+    if (THREADS instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) THREADS)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  // returns the bytes allocated since the given count, or -1 if the JVM cannot tell
+  static long allocatedSince(long before) {
+    return before == -1 ? -1 : allocatedBytes() - before;
+  }
+
+  // records the maze a generator finished, with no Kruskal's counts
+  // EFFECT: replaces the generation metrics
+  void recordGeneration(String generator, MazeGrid grid, long nanos, long bytes) {
+    this.generator = generator;
+    this.width = grid.width;
+    this.height = grid.height;
+    this.seed = grid.seed;
+    this.edgesExamined = 0;
+    this.edgesRejected = 0;
+    this.finds = 0;
+    this.findSteps = 0;
+    this.maxFindDepth = 0;
+    this.initEdgesNanos = 0;
+    this.edgeWeightsNanos = 0;
+    this.sortEdgesNanos = 0;
+    this.carveNanos = 0;
+    this.generationNanos = nanos;
+    this.generationBytes = bytes;
+  }
+
+  // records the counts and phases of a finished run of Kruskal's, which carved for the given
+  // time after setting up; the finds are only counted when it ran over a CountingDisjointSet
+  // EFFECT: replaces the generation metrics
+  void recordKruskal(KruskalGenerator kruskal, long carveNanos, long bytes) {
+    this.recordGeneration(MazeEngine.KRUSKAL, kruskal.grid, kruskal.initEdgesNanos
+        + kruskal.edgeWeightsNanos + kruskal.sortEdgesNanos + carveNanos, bytes);
+    this.initEdgesNanos = kruskal.initEdgesNanos;
+    this.edgeWeightsNanos = kruskal.edgeWeightsNanos;
+    this.sortEdgesNanos = kruskal.sortEdgesNanos;
+    this.carveNanos = carveNanos;
+    this.edgesExamined = kruskal.cursor;
+    this.edgesRejected = kruskal.cursor - kruskal.grid.numCarved;
+    if (kruskal.sets instanceof CountingDisjointSet) {
+      CountingDisjointSet counted = (CountingDisjointSet) kruskal.sets;
+      this.finds = counted.finds;
+      this.findSteps = counted.findSteps;
+      this.maxFindDepth = counted.maxFindDepth;
+    }
+  }
+
+  // records a finished search
+  // EFFECT: replaces the solving metrics
+  void recordSolve(String solver, MazeSolution solution, long bytes) {
+    this.solver = solver;
+    this.cellsExpanded = solution.cellsExpanded;
+    this.peakFrontier = solution.peakFrontier;
+    this.pathLength = solution.moves();
+    this.solveNanos = solution.nanos;
+    this.solveBytes = bytes;
+  }
+
+  // returns the average number of parents each find followed
+  double averageFindDepth() {
+    if (this.finds == 0) {
+      return 0;
+    }
+    return (double) this.findSteps / this.finds;
+  }
+
+  // returns these metrics as a JSON object
+  String toJson() {
+    return "{\"generation\":{"
+        + "\"generator\":\"" + this.generator + "\","
+        + "\"width\":" + this.width + ","
+        + "\"height\":" + this.height + ","
+        + "\"seed\":" + this.seed + ","
+        + "\"edgesExamined\":" + this.edgesExamined + ","
+        + "\"edgesRejected\":" + this.edgesRejected + ","
+        + "\"finds\":" + this.finds + ","
+        + "\"averageFindDepth\":" + String.format(Locale.ROOT, "%.3f", this.averageFindDepth())
+        + ","
+        + "\"maxFindDepth\":" + this.maxFindDepth + ","
+        + "\"nanos\":{"
+        + "\"initEdges\":" + this.initEdgesNanos + ","
+        + "\"edgeWeights\":" + this.edgeWeightsNanos + ","
+        + "\"sortEdges\":" + this.sortEdgesNanos + ","
+        + "\"carve\":" + this.carveNanos + ","
+        + "\"total\":" + this.generationNanos + "},"
+        + "\"allocatedBytes\":" + this.generationBytes + "},"
+        + "\"solve\":{"
+        + "\"solver\":\"" + this.solver + "\","
+        + "\"cellsExpanded\":" + this.cellsExpanded + ","
+        + "\"peakFrontier\":" + this.peakFrontier + ","
+        + "\"pathLength\":" + this.pathLength + ","
+        + "\"nanos\":" + this.solveNanos + ","
+        + "\"allocatedBytes\":" + this.solveBytes + "}}";
+  }
+
+  // writes these metrics as JSON to the file named by the maze.metrics system property, if it
+  // is set
+  // EFFECT: replaces the file's contents
+  void dump() {
+    String file = System.getProperty("maze.metrics");
+    if (file != null) {
+      try {
+        Files.write(Paths.get(file), this.toJson().getBytes(StandardCharsets.UTF_8));
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,194 @@
+import java.awt.image.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+import javax.imageio.ImageIO;
+
+// draws a maze straight into the pixels of one image, for boards too large to draw as an image
+// per cell and per wall
+// every cell is a square of cellSize pixels, and every wall is two pixels thick, one on each
+// side of the line between its cells, as MazeWorld draws them; a cell only ever writes its own
+// square, so rows of cells can be drawn on many threads at once and a single cell can be
+// redrawn without touching its neighbors
+class MazeRaster {
+  // the color of every wall
+  static final int WALL = 0xff000000;
+
+  // the color of the cells of a heatmap that cannot reach a goal, a light gray
+  static final int UNREACHABLE = 0xffc0c0c0;
+
+  // number of cells horizontally and vertically
+  int width;
+  int height;
+
+  // number of pixels on each side of a cell
+  int cellSize;
+
+  // number of pixels horizontally and vertically
+  int pixelWidth;
+  int pixelHeight;
+
+  // the image drawn into, and its pixels as ARGB values, row by row
+  BufferedImage image;
+  int[] pixels;
+
+  MazeRaster(int width, int height, int cellSize) {
+    if (cellSize < 2) {
+      throw new IllegalArgumentException("Cells must be at least 2 pixels wide");
+    }
+    if ((long) width * height * cellSize * cellSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The maze is too large to draw at this cell size");
+    }
+    this.width = width;
+    this.height = height;
+    this.cellSize = cellSize;
+    this.pixelWidth = width * cellSize;
+    this.pixelHeight = height * cellSize;
+    this.image = new BufferedImage(this.pixelWidth, this.pixelHeight,
+        BufferedImage.TYPE_INT_ARGB);
+    this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+  }
+
+  // returns whether every edge of the given maze is a wall, which is when it was not carved
+  static IntPredicate walls(MazeGrid grid) {
+    return edge -> !grid.isOpen(grid.edgeTo(edge),
+        (edge & 1) == 0 ? MazeGrid.RIGHT : MazeGrid.DOWN);
+  }
+
+  // returns the color of the given cell in a heatmap of the given field as an ARGB value, from
+  // blue at the goals through green to red at the farthest cells, and gray if it cannot reach
+  // one
+  static int heatColor(DistanceField field, int cell) {
+    int dist = field.distance(cell);
+    if (dist == -1) {
+      return UNREACHABLE;
+    }
+    float far = field.maxDistance == 0 ? 0 : (float) dist / field.maxDistance;
+    return hue(0.66f * (1 - far));
+  }
+
+  // returns the fully saturated and bright color of the given hue as an ARGB value, where
+  // hues from 0 to 1 go once around the color wheel from red, as java.awt.Color.HSBtoRGB does
+  static int hue(float hue) {
+    float h = (hue - (float) Math.floor(hue)) * 6;
+    int rising = (int) ((h - (float) Math.floor(h)) * 255 + 0.5f);
+    int falling = (int) ((1 - (h - (float) Math.floor(h))) * 255 + 0.5f);
+    int sector = (int) h;
+    if (sector == 0) {
+      return rgb(255, rising, 0);
+    }
+    else if (sector == 1) {
+      return rgb(falling, 255, 0);
+    }
+    else if (sector == 2) {
+      return rgb(0, 255, rising);
+    }
+    else if (sector == 3) {
+      return rgb(0, falling, 255);
+    }
+    else if (sector == 4) {
+      return rgb(rising, 0, 255);
+    }
+    else {
+      return rgb(255, 0, falling);
+    }
+  }
+
+  // returns the opaque color with the given red, green and blue as an ARGB value
+  static int rgb(int red, int green, int blue) {
+    return 0xff000000 | (red << 16) | (green << 8) | blue;
+  }
+
+  // draws every cell of the given maze, filled with the color the given function gives it and
+  // with a wall along every edge the given test accepts
+  // EFFECT: overwrites every pixel
+  void render(MazeGrid grid, IntUnaryOperator fill, IntPredicate wall) {
+    for (int y = 0; y < this.height; y++) {
+      this.renderRow(grid, fill, wall, y);
+    }
+  }
+
+  // draws every cell of the given maze as render does, with the rows split between the given
+  // threads; the fill and wall functions are called from all of them
+  // EFFECT: overwrites every pixel
+  void render(MazeGrid grid, IntUnaryOperator fill, IntPredicate wall, ForkJoinPool pool) {
+    pool.submit(() -> IntStream.range(0, this.height).parallel()
+        .forEach(y -> this.renderRow(grid, fill, wall, y))).join();
+  }
+
+  // draws every cell in the given row of the maze
+  // EFFECT: overwrites the pixels of the row
+  void renderRow(MazeGrid grid, IntUnaryOperator fill, IntPredicate wall, int y) {
+    for (int cell = y * this.width; cell < (y + 1) * this.width; cell++) {
+      this.renderCell(grid, fill, wall, cell);
+    }
+  }
+
+  // draws the given cell and its half of the walls around it
+  // cells smaller than 4 pixels only draw the walls on their right and bottom sides, a pixel
+  // thick, so there is still room to see their color
+  // EFFECT: overwrites the pixels of the cell's square
+  void renderCell(MazeGrid grid, IntUnaryOperator fill, IntPredicate wall, int cell) {
+    int x = grid.x(cell);
+    int y = grid.y(cell);
+    int left = x * this.cellSize;
+    int top = y * this.cellSize;
+    int last = this.cellSize - 1;
+    this.fillRect(left, top, this.cellSize, this.cellSize, fill.applyAsInt(cell));
+
+    if (x + 1 < this.width && wall.test(cell * 2)) {
+      this.fillRect(left + last, top, 1, this.cellSize, WALL);
+    }
+    if (y + 1 < this.height && wall.test(cell * 2 + 1)) {
+      this.fillRect(left, top + last, this.cellSize, 1, WALL);
+    }
+    if (this.cellSize >= 4) {
+      if (x > 0 && wall.test((cell - 1) * 2)) {
+        this.fillRect(left, top, 1, this.cellSize, WALL);
+      }
+      if (y > 0 && wall.test((cell - this.width) * 2 + 1)) {
+        this.fillRect(left, top, this.cellSize, 1, WALL);
+      }
+    }
+  }
+
+  // fills the given rectangle of pixels with the given color
+  // EFFECT: overwrites the pixels of the rectangle
+  void fillRect(int left, int top, int rectWidth, int rectHeight, int argb) {
+    for (int row = top; row < top + rectHeight; row++) {
+      int start = row * this.pixelWidth + left;
+      for (int i = start; i < start + rectWidth; i++) {
+        this.pixels[i] = argb;
+      }
+    }
+  }
+
+  // returns the color of the pixel at the given column and row
+  int pixel(int x, int y) {
+    return this.pixels[y * this.pixelWidth + x];
+  }
+
+  // writes the image drawn so far to the given file as a PNG
+  void write(Path file) throws IOException {
+    if (!ImageIO.write(this.image, "png", file.toFile())) {
+      throw new IOException("No PNG writer is available");
+    }
+  }
+
+  // draws the maze in the maze file given on the command line to a PNG, open cells in white
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.err.println("usage: MazeRaster <maze file> <cell size> <png file>");
+      System.exit(2);
+    }
+    MazeGrid grid = MazeFile.load(Paths.get(args[0]));
+    MazeRaster raster = new MazeRaster(grid.width, grid.height, Integer.parseInt(args[1]));
+    long start = System.nanoTime();
+    raster.render(grid, cell -> 0xffffffff, walls(grid), ForkJoinPool.commonPool());
+    System.out.println("Drew " + raster.pixels.length + " pixels in "
+        + (System.nanoTime() - start) / 1000000 + " ms");
+    raster.write(Paths.get(args[2]));
+  }
+}
@@ -0,0 +1,52 @@
+// an unchangeable copy of a maze's passages that any number of threads can search at once
+// the passages are copied when the snapshot is taken, so later changes to the maze are not seen
+// nothing writes to a snapshot once it is made, so it must be handed to the threads that
+// search it only after its constructor returns, as submitting tasks to a pool does
+class MazeSnapshot {
+  // number of cells horizontally
+  int width;
+
+  // number of cells vertically
+  int height;
+
+  // number of cells in the maze
+  int numCells;
+
+  // the open passages of every cell, never written after the constructor
+  byte[] cells;
+
+  MazeSnapshot(MazeGrid maze) {
+    this.width = maze.width;
+    this.height = maze.height;
+    this.numCells = maze.numCells;
+    this.cells = new byte[maze.numCells];
+    for (int cell = 0; cell < maze.numCells; cell++) {
+      for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+        if (maze.isOpen(cell, MazeGrid.DIRECTIONS[i])) {
+          this.cells[cell] |= MazeGrid.DIRECTIONS[i];
+        }
+      }
+    }
+  }
+
+  // is there a passage from the given cell in the given direction?
+  boolean isOpen(int cell, byte dir) {
+    return (this.cells[cell] & dir) != 0;
+  }
+
+  // returns the cell reached by leaving the given cell in the given direction
+  int neighbor(int cell, byte dir) {
+    if (dir == MazeGrid.RIGHT) {
+      return cell + 1;
+    }
+    else if (dir == MazeGrid.DOWN) {
+      return cell + this.width;
+    }
+    else if (dir == MazeGrid.LEFT) {
+      return cell - 1;
+    }
+    else {
+      return cell - this.width;
+    }
+  }
+}
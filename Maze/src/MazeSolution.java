@@ -0,0 +1,45 @@
+// to represent the outcome of solving a maze
+class MazeSolution {
+  // the cells from the start to the goal, in order
+  int[] path;
+
+  // the cells in the order in which the search expanded them
+  int[] expanded;
+
+  // number of cells the search expanded before reaching the goal
+  int cellsExpanded;
+
+  // the most cells the search was waiting to expand at any one time
+  int peakFrontier;
+
+  // wall-clock time spent searching, in nanoseconds
+  long nanos;
+
+  MazeSolution(int[] path, int[] expanded, int peakFrontier, long nanos) {
+    this.path = path;
+    this.expanded = expanded;
+    this.cellsExpanded = expanded.length;
+    this.peakFrontier = peakFrontier;
+    this.nanos = nanos;
+  }
+
+  // returns the number of moves along the path, or -1 if no path was found
+  int moves() {
+    return this.path.length - 1;
+  }
+
+  // walks the parents back from the given target, whose chain ends with -1 at the start, to
+  // build the path from the start
+  static int[] pathTo(int[] parent, int target) {
+    int length = 0;
+    for (int cell = target; cell != -1; cell = parent[cell]) {
+      length++;
+    }
+    int[] path = new int[length];
+    for (int cell = target; cell != -1; cell = parent[cell]) {
+      length--;
+      path[length] = cell;
+    }
+    return path;
+  }
+}
@@ -0,0 +1,5 @@
+// a search algorithm that finds a path between two cells of a maze
+interface MazeSolver {
+  // finds a path through the given maze from the start cell to the goal cell
+  MazeSolution solve(MazeGrid maze, int start, int goal);
+}
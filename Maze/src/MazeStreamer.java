@@ -0,0 +1,101 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// writes mazes generated with Eller's algorithm to a channel one row at a time, so that a maze
+// never has to fit in memory: only one row of the maze and one buffer of packed rows are kept
+// each cell takes two bits, RIGHT in the low bit and DOWN in the high bit, four cells to a
+// byte from the low bits up; every row starts on a new byte
+// run on its own, it writes a maze file that MazeFile can load:
+//   java -cp Maze/target/classes MazeStreamer <width> <height> <seed> <file>
+class MazeStreamer {
+  // the passages of a cell that are written out; the others can be found from its neighbors
+  static final byte WRITTEN = MazeGrid.RIGHT | MazeGrid.DOWN;
+
+  // roughly how many bytes are packed before each write to the channel
+  int bufferSize;
+
+  MazeStreamer(int bufferSize) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("The buffer must hold at least one byte");
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  MazeStreamer() {
+    this(1 << 16);
+  }
+
+  // returns the number of bytes each packed row of the given width takes
+  static int rowBytes(int width) {
+    return (width + 3) >>> 2;
+  }
+
+  // returns the number of bytes a packed maze of the given size takes
+  static long mazeBytes(int width, int height) {
+    return (long) rowBytes(width) * height;
+  }
+
+  // generates a maze with Eller's algorithm and writes its rows to the channel as they are
+  // finished, returning the number of bytes written
+  // EFFECT: writes every row of the maze to the channel
+  long stream(int width, int height, long seed, WritableByteChannel out) throws IOException {
+    EllerRows rows = new EllerRows(width, height, seed);
+    byte[] passages = new byte[width];
+    // a whole number of rows, and at least one
+    int rowBytes = rowBytes(width);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(
+        Math.max(this.bufferSize / Math.max(rowBytes, 1), 1) * Math.max(rowBytes, 1));
+    long written = 0;
+    while (!rows.isDone()) {
+      rows.nextRow(passages);
+      if (buffer.remaining() < rowBytes) {
+        written += this.drain(buffer, out);
+      }
+      packRow(passages, width, buffer);
+    }
+    return written + this.drain(buffer, out);
+  }
+
+  // writes out everything packed into the buffer, returning the number of bytes written
+  // EFFECT: writes the buffer's contents to the channel and empties the buffer
+  long drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+    buffer.flip();
+    long written = buffer.remaining();
+    MazeFile.writeFully(buffer, out);
+    buffer.clear();
+    return written;
+  }
+
+  // packs the RIGHT and DOWN passages of one row into the buffer
+  // EFFECT: puts rowBytes(width) bytes into the buffer
+  static void packRow(byte[] passages, int width, ByteBuffer out) {
+    for (int x = 0; x < width; x += 4) {
+      int packed = 0;
+      for (int i = 0; i < 4 && x + i < width; i++) {
+        packed |= (passages[x + i] & WRITTEN) << (i * 2);
+      }
+      out.put((byte) packed);
+    }
+  }
+
+  // streams a maze of the size and seed given on the command line to a maze file
+  public static void main(String[] args) throws IOException {
+    if (args.length != 4) {
+      System.err.println("usage: MazeStreamer <width> <height> <seed> <file>");
+      System.exit(2);
+    }
+    int width = Integer.parseInt(args[0]);
+    int height = Integer.parseInt(args[1]);
+    long seed = Long.parseLong(args[2]);
+    try (FileChannel out = FileChannel.open(Paths.get(args[3]), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      long start = System.nanoTime();
+      MazeFile.writeFully(MazeFile.header(width, height, seed, MazeEngine.ELLER), out);
+      long written = MazeFile.HEADER_BYTES + new MazeStreamer().stream(width, height, seed, out);
+      System.out.println("Wrote " + written + " bytes in "
+          + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+  }
+}
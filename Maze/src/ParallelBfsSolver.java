@@ -0,0 +1,101 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+// solves a maze with breadth-first search one level at a time, expanding the cells of each
+// level on many threads at once
+// the levels are kept one after another in a single queue: each task expands a chunk of the
+// current level into its own buffer and then copies it to the end of the queue, and a cell is
+// claimed by whichever thread first sets its bit, which is also the only thread that writes
+// its parent
+// the path has the same length as the one WorklistSolver's breadth-first search finds, and in a
+// perfect maze it is the same path
+class ParallelBfsSolver implements MazeSolver {
+  // number of cells of a level each task expands
+  int chunkSize;
+
+  // the threads the levels are expanded on
+  ForkJoinPool pool;
+
+  ParallelBfsSolver(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Each task must expand at least one cell");
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  ParallelBfsSolver(ForkJoinPool pool) {
+    this(pool, 1 << 10);
+  }
+
+  public MazeSolution solve(MazeGrid maze, int start, int goal) {
+    long startTime = System.nanoTime();
+    CellBitSet discovered = new CellBitSet(maze.numCells);
+    int[] parent = new int[maze.numCells];
+    // every discovered cell, level by level
+    int[] queue = new int[maze.numCells];
+    AtomicInteger queueEnd = new AtomicInteger(1);
+
+    queue[0] = start;
+    discovered.set(start);
+    parent[start] = -1;
+
+    // the current level is queue[levelStart, levelEnd)
+    int levelStart = 0;
+    int levelEnd = start == goal ? 0 : 1;
+    int peakFrontier = 1;
+    while (levelStart < levelEnd && !discovered.get(goal)) {
+      int from = levelStart;
+      int to = levelEnd;
+      // most levels of a maze are narrow, and waking the pool for them would cost more than
+      // expanding them here
+      if (to - from < 4 * this.chunkSize) {
+        this.expand(maze, discovered, parent, queue, queueEnd, from, to);
+      }
+      else {
+        int size = this.chunkSize;
+        int chunks = (to - from + size - 1) / size;
+        this.pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk ->
+            this.expand(maze, discovered, parent, queue, queueEnd, from + chunk * size,
+                Math.min(from + (chunk + 1) * size, to)))).join();
+      }
+      levelStart = to;
+      levelEnd = queueEnd.get();
+      peakFrontier = Math.max(peakFrontier, levelEnd - levelStart);
+    }
+
+    int[] path = new int[0];
+    if (discovered.get(goal)) {
+      path = MazeSolution.pathTo(parent, goal);
+    }
+    return new MazeSolution(path, Arrays.copyOf(queue, levelStart), peakFrontier,
+        System.nanoTime() - startTime);
+  }
+
+  // expands the cells queue[from, to), adding every neighbor no other thread has claimed yet to
+  // the end of the queue
+  // EFFECT: marks and sets the parent of each claimed neighbor, and appends them to the queue
+  void expand(MazeGrid maze, CellBitSet discovered, int[] parent, int[] queue,
+      AtomicInteger queueEnd, int from, int to) {
+    // a cell has at most four neighbors
+    int[] found = new int[(to - from) * 4];
+    int numFound = 0;
+    for (int i = from; i < to; i++) {
+      int next = queue[i];
+      for (int d = 0; d < MazeGrid.DIRECTIONS.length; d++) {
+        byte dir = MazeGrid.DIRECTIONS[d];
+        if (maze.isOpen(next, dir)) {
+          int neighbor = maze.neighbor(next, dir);
+          if (!discovered.get(neighbor) && discovered.setAtomic(neighbor)) {
+            parent[neighbor] = next;
+            found[numFound] = neighbor;
+            numFound++;
+          }
+        }
+      }
+    }
+    System.arraycopy(found, 0, queue, queueEnd.getAndAdd(numFound), numFound);
+  }
+}
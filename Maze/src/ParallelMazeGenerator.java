@@ -0,0 +1,213 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+// generates the same maze as Kruskal's algorithm on many threads at once
+// the grid is split into square tiles and Kruskal's runs on each tile's own edges in parallel;
+// any edge a tile discards closes a cycle of lighter edges, so it cannot be in the maze either
+// the edges that are left, together with the edges between tiles, are then joined with rounds
+// of Boruvka's algorithm over a lock-free union/find, where every part of the maze takes its
+// lightest edge out at once
+// edges are ordered by weight and then by number, so the spanning tree is unique: the result
+// does not depend on the number of threads and is the maze MazeEngine.generate carves
+// edges are numbered by int, two to a cell, so a maze can have at most MAX_CELLS cells, just
+// under 2^30; larger mazes are turned away before anything is allocated
+class ParallelMazeGenerator implements MazeGenerator {
+  // number of edges each task looks at in a Boruvka round, unless another size is given
+  static final int CHUNK = 1 << 16;
+
+  // the most cells a maze can have while every edge number still fits in an int
+  static final int MAX_CELLS = Integer.MAX_VALUE / 2;
+
+  // number of cells on each side of a tile
+  int tileSize;
+
+  // number of edges each task looks at in a Boruvka round, which is even so that every chunk
+  // holds both edges of its cells
+  int chunkSize;
+
+  // the threads the tiles and rounds run on
+  ForkJoinPool pool;
+
+  MazeEngine engine = new MazeEngine();
+
+  ParallelMazeGenerator(int tileSize, int chunkSize, ForkJoinPool pool) {
+    if (tileSize < 2) {
+      throw new IllegalArgumentException("Tiles must be at least 2 cells wide");
+    }
+    if (chunkSize < 2 || chunkSize % 2 != 0) {
+      throw new IllegalArgumentException("Chunks must hold a positive, even number of edges");
+    }
+    this.tileSize = tileSize;
+    this.chunkSize = chunkSize;
+    this.pool = pool;
+  }
+
+  ParallelMazeGenerator(int tileSize, ForkJoinPool pool) {
+    this(tileSize, CHUNK, pool);
+  }
+
+  // generates a new maze using edge weights drawn from the seed
+  // every weight is a hash of the seed and the edge, so each tile finds its own weights and
+  // they are never stored
+  public MazeGrid generate(int width, int height, long seed) {
+    if ((long) width * height > MAX_CELLS) {
+      throw new IllegalArgumentException("A maze can have at most " + MAX_CELLS + " cells");
+    }
+    MazeGrid grid = new MazeGrid(width, height, seed);
+
+    // 1 for every edge that may still be in the maze, by edge number
+    byte[] candidates = new byte[grid.numCells * 2];
+    int tilesAcross = (width + this.tileSize - 1) / this.tileSize;
+    int tilesDown = (height + this.tileSize - 1) / this.tileSize;
+    this.inParallel(tilesAcross * tilesDown, tile -> this.filterTile(grid, candidates,
+        (tile % tilesAcross) * this.tileSize, (tile / tilesAcross) * this.tileSize));
+
+    // 1 for every edge in the maze, by edge number
+    byte[] chosen = new byte[grid.numCells * 2];
+    ConcurrentDisjointSet sets = new ConcurrentDisjointSet(grid.numCells);
+    AtomicLongArray lightest = new AtomicLongArray(grid.numCells);
+    int chunks = (candidates.length + this.chunkSize - 1) / this.chunkSize;
+    boolean joining = true;
+    while (joining) {
+      AtomicBoolean found = new AtomicBoolean(false);
+      this.inParallel(chunks, chunk -> {
+        int end = Math.min((chunk + 1) * this.chunkSize, candidates.length);
+        for (int i = chunk * this.chunkSize; i < end; i++) {
+          lightest.set(i >> 1, Long.MAX_VALUE);
+        }
+      });
+      this.inParallel(chunks, chunk -> {
+        if (this.findLightest(grid, candidates, sets, lightest, chunk)) {
+          found.set(true);
+        }
+      });
+      this.inParallel(chunks, chunk -> {
+        int end = Math.min((chunk + 1) * this.chunkSize, candidates.length) >> 1;
+        for (int cell = (chunk * this.chunkSize) >> 1; cell < end; cell++) {
+          long key = lightest.get(cell);
+          int edge = (int) key;
+          if (key != Long.MAX_VALUE
+              && sets.union(grid.edgeTo(edge), grid.edgeFrom(edge))) {
+            chosen[edge] = 1;
+            candidates[edge] = 0;
+          }
+        }
+      });
+      joining = found.get();
+    }
+
+    this.carveInOrder(grid, chosen);
+    return grid;
+  }
+
+  // runs Kruskal's on the edges inside the tile whose top left cell is given, marking the
+  // edges it keeps and every edge leaving the tile to the right or below as candidates
+  // EFFECT: sets the candidate flag of the tile's edges, which no other tile touches
+  void filterTile(MazeGrid grid, byte[] candidates, int left, int top) {
+    int right = Math.min(left + this.tileSize, grid.width);
+    int bottom = Math.min(top + this.tileSize, grid.height);
+    int tileWidth = right - left;
+
+    // the edges inside the tile, keyed by weight and then edge number
+    long[] inside = new long[2 * tileWidth * (bottom - top)];
+    int count = 0;
+    for (int y = top; y < bottom; y++) {
+      for (int x = left; x < right; x++) {
+        int cell = grid.index(x, y);
+        if (x + 1 < right) {
+          inside[count] = this.key(grid, cell * 2);
+          count++;
+        }
+        else if (x + 1 < grid.width) {
+          candidates[cell * 2] = 1;
+        }
+        if (y + 1 < bottom) {
+          inside[count] = this.key(grid, cell * 2 + 1);
+          count++;
+        }
+        else if (y + 1 < grid.height) {
+          candidates[cell * 2 + 1] = 1;
+        }
+      }
+    }
+    Arrays.sort(inside, 0, count);
+
+    DisjointSet sets = new DisjointSet(tileWidth * (bottom - top));
+    for (int i = 0; i < count; i++) {
+      int edge = (int) inside[i];
+      int to = grid.edgeTo(edge);
+      int from = grid.edgeFrom(edge);
+      if (sets.union((grid.y(to) - top) * tileWidth + grid.x(to) - left,
+          (grid.y(from) - top) * tileWidth + grid.x(from) - left)) {
+        candidates[edge] = 1;
+      }
+    }
+  }
+
+  // offers every candidate edge in the given chunk to the two parts of the maze it joins, each
+  // of which keeps the lightest edge offered, and returns whether any edge joined two parts
+  // EFFECT: drops candidates whose cells are already connected, and lowers lightest entries
+  boolean findLightest(MazeGrid grid, byte[] candidates, ConcurrentDisjointSet sets,
+      AtomicLongArray lightest, int chunk) {
+    boolean found = false;
+    int end = Math.min((chunk + 1) * this.chunkSize, candidates.length);
+    for (int edge = chunk * this.chunkSize; edge < end; edge++) {
+      if (candidates[edge] == 1) {
+        int rootTo = sets.find(grid.edgeTo(edge));
+        int rootFrom = sets.find(grid.edgeFrom(edge));
+        if (rootTo == rootFrom) {
+          candidates[edge] = 0;
+        }
+        else {
+          long key = this.key(grid, edge);
+          this.lower(lightest, rootTo, key);
+          this.lower(lightest, rootFrom, key);
+          found = true;
+        }
+      }
+    }
+    return found;
+  }
+
+  // returns the given edge's weight and number packed into one long, so that comparing keys
+  // orders edges by weight and then by number
+  long key(MazeGrid grid, int edge) {
+    return ((long) MazeEngine.edgeWeight(grid.seed, edge) << 32) | edge;
+  }
+
+  // lowers the entry at the given position to the given key, if the key is smaller
+  // EFFECT: retries until the entry is no larger than the key
+  void lower(AtomicLongArray lightest, int pos, long key) {
+    long current = lightest.get(pos);
+    while (key < current && !lightest.compareAndSet(pos, current, key)) {
+      current = lightest.get(pos);
+    }
+  }
+
+  // carves the chosen edges in the order Kruskal's would have added them
+  // EFFECT: carves every chosen edge into the grid
+  void carveInOrder(MazeGrid grid, byte[] chosen) {
+    int[] edges = new int[Math.max(grid.numCells - 1, 0)];
+    int[] edgeWeights = new int[edges.length];
+    int count = 0;
+    for (int edge = 0; edge < chosen.length; edge++) {
+      if (chosen[edge] == 1) {
+        edges[count] = edge;
+        edgeWeights[count] = MazeEngine.edgeWeight(grid.seed, edge);
+        count++;
+      }
+    }
+    int[] sorted = this.engine.sortEdges(edges, edgeWeights);
+    for (int i = 0; i < sorted.length; i++) {
+      grid.carve(sorted[i]);
+    }
+  }
+
+  // runs the given task for every number below the given count on this generator's threads
+  void inParallel(int count, IntConsumer task) {
+    this.pool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).join();
+  }
+}
@@ -0,0 +1,17 @@
+// the buffers one thread runs breadth-first searches with, kept from one search to the next
+class SearchScratch {
+  // the cells in the order they were found
+  int[] queue;
+
+  // the cell each cell was found from
+  int[] parent;
+
+  // the cells found so far, empty between searches
+  CellBitSet discovered;
+
+  SearchScratch(int numCells) {
+    this.queue = new int[numCells];
+    this.parent = new int[numCells];
+    this.discovered = new CellBitSet(numCells);
+  }
+}
@@ -0,0 +1,33 @@
+import jdk.jfr.*;
+
+// recorded by Java Flight Recorder each time the engine solves a maze
+@Name("maze.Solve")
+@Label("Maze Solve")
+@Category("Maze")
+class SolveEvent extends Event {
+  @Label("Solver")
+  String solver;
+
+  @Label("Cells Expanded")
+  int cellsExpanded;
+
+  @Label("Peak Frontier")
+  int peakFrontier;
+
+  @Label("Path Length")
+  int pathLength;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  // copies the solving metrics into this event
+  // EFFECT: sets every field
+  void set(MazeMetrics metrics) {
+    this.solver = metrics.solver;
+    this.cellsExpanded = metrics.cellsExpanded;
+    this.peakFrontier = metrics.peakFrontier;
+    this.pathLength = metrics.pathLength;
+    this.allocatedBytes = metrics.solveBytes;
+  }
+}
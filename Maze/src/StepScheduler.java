@@ -0,0 +1,52 @@
+// decides how many steps of an animation run in each tick: up to a fixed number of steps,
+// and optionally only as many as fit in a time budget, so large mazes animate at a steady
+// frame rate
+class StepScheduler {
+  // the most steps run in one tick
+  int stepsPerTick;
+
+  // the time each tick may spend on steps, in nanoseconds, or 0 for no time limit
+  long nanosPerTick;
+
+  // when the current tick's time runs out
+  long deadline = 0;
+
+  StepScheduler(int stepsPerTick, long nanosPerTick) {
+    if (stepsPerTick < 1) {
+      throw new IllegalArgumentException("Must run at least one step per tick");
+    }
+    this.stepsPerTick = stepsPerTick;
+    this.nanosPerTick = nanosPerTick;
+  }
+
+  StepScheduler(int stepsPerTick) {
+    this(stepsPerTick, 0);
+  }
+
+  // runs as many steps as fit in the given number of nanoseconds each tick
+  static StepScheduler timed(long nanosPerTick) {
+    return new StepScheduler(Integer.MAX_VALUE, nanosPerTick);
+  }
+
+  // starts the budget for a new tick
+  // EFFECT: sets the deadline for this tick's steps
+  void startTick() {
+    this.deadline = System.nanoTime() + this.nanosPerTick;
+  }
+
+  // can another step run in this tick, after the given number of steps have run?
+  // the first step always runs, and the clock is only read every 64 steps since a single step
+  // is often cheaper than reading it
+  boolean canStep(int stepsTaken) {
+    if (stepsTaken >= this.stepsPerTick) {
+      return false;
+    }
+    else if (this.nanosPerTick <= 0 || stepsTaken == 0 || (stepsTaken & 63) != 0) {
+      return true;
+    }
+    else {
+      // compared by the difference, as nanoTime may wrap around between the two readings
+      return System.nanoTime() - this.deadline < 0;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+import java.util.*;
+
+// answers distance and path queries between any two cells of a perfect maze without searching
+// a perfect maze is a tree, so the path between two cells runs up to their lowest common
+// ancestor and back down; the tree is rooted at the start cell and walked once in depth-first
+// order, the order the Euler tour first visits each cell in, and a sparse table over that order
+// finds the common ancestor of any two cells in O(1)
+// for cells u and v with u first in the order, the common ancestor is the earliest parent of the
+// cells after u up to v, so the table only has to keep the smallest of those parents' positions
+class TreeIndex {
+  // the maze being indexed
+  MazeGrid maze;
+
+  // the parent of every cell, or -1 for the root
+  int[] parent;
+
+  // the number of passages between every cell and the root
+  int[] depth;
+
+  // the position of every cell in the depth-first order
+  int[] position;
+
+  // the cells in depth-first order
+  int[] order;
+
+  // table[k][i] is the smallest position of a parent of the cells at positions i to i + 2^k - 1
+  int[][] table;
+
+  TreeIndex(MazeGrid maze) {
+    this.maze = maze;
+    int n = maze.numCells;
+    this.parent = new int[n];
+    this.depth = new int[n];
+    this.position = new int[n];
+    this.order = new int[n];
+    this.walk();
+    this.buildTable();
+  }
+
+  // walks the tree in depth-first order from the start cell
+  // EFFECT: sets the parent, depth and position of every cell, and the order
+  void walk() {
+    if (this.maze.numCells == 0) {
+      return;
+    }
+    Arrays.fill(this.position, -1);
+    int visited = 0;
+    IntDeque stack = new IntDeque();
+    int root = this.maze.start();
+    stack.addFirst(root);
+    this.parent[root] = -1;
+    while (!stack.isEmpty()) {
+      int cell = stack.removeFirst();
+      this.position[cell] = visited;
+      this.order[visited] = cell;
+      visited++;
+      for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+        byte dir = MazeGrid.DIRECTIONS[i];
+        if (this.maze.isOpen(cell, dir)) {
+          int child = this.maze.neighbor(cell, dir);
+          if (child != this.parent[cell]) {
+            if (this.position[child] != -1) {
+              throw new IllegalArgumentException("The maze has a loop, so it is not a tree");
+            }
+            // marked as seen when it is pushed, so a loop is found before it is walked twice
+            this.position[child] = -2;
+            this.parent[child] = cell;
+            this.depth[child] = this.depth[cell] + 1;
+            stack.addFirst(child);
+          }
+        }
+      }
+    }
+    if (visited != this.maze.numCells) {
+      throw new IllegalArgumentException("Some cells cannot be reached from the start");
+    }
+  }
+
+  // builds the sparse table of the smallest parent positions over the depth-first order
+  // EFFECT: sets the table
+  void buildTable() {
+    int n = this.maze.numCells;
+    int levels = 1;
+    while ((1 << levels) <= n) {
+      levels++;
+    }
+    this.table = new int[levels][];
+    this.table[0] = new int[n];
+    for (int i = 0; i < n; i++) {
+      int up = this.parent[this.order[i]];
+      this.table[0][i] = up == -1 ? -1 : this.position[up];
+    }
+    for (int k = 1; k < levels; k++) {
+      int half = 1 << (k - 1);
+      int[] below = this.table[k - 1];
+      int[] level = new int[n - (1 << k) + 1];
+      for (int i = 0; i < level.length; i++) {
+        level[i] = Math.min(below[i], below[i + half]);
+      }
+      this.table[k] = level;
+    }
+  }
+
+  // returns the lowest common ancestor of the two given cells
+  int ancestor(int a, int b) {
+    if (a == b) {
+      return a;
+    }
+    int from = Math.min(this.position[a], this.position[b]) + 1;
+    int to = Math.max(this.position[a], this.position[b]);
+    int k = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+    return this.order[Math.min(this.table[k][from], this.table[k][to - (1 << k) + 1])];
+  }
+
+  // returns the number of passages on the path between the two given cells
+  int distance(int a, int b) {
+    return this.depth[a] + this.depth[b] - 2 * this.depth[this.ancestor(a, b)];
+  }
+
+  // returns the cells on the path from a to b, in order
+  int[] path(int a, int b) {
+    int top = this.ancestor(a, b);
+    int up = this.depth[a] - this.depth[top];
+    int[] path = new int[up + this.depth[b] - this.depth[top] + 1];
+    // climb from a to the common ancestor, and fill in the way down to b from its end
+    int cell = a;
+    for (int i = 0; i <= up; i++) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    cell = b;
+    for (int i = path.length - 1; i > up; i--) {
+      path[i] = cell;
+      cell = this.parent[cell];
+    }
+    return path;
+  }
+}
@@ -0,0 +1,48 @@
+import java.util.*;
+
+// generates mazes with Wilson's algorithm: from each cell not yet in the maze, a random walk
+// wanders until it reaches the maze, and the walk with its loops erased is carved in
+// every spanning tree is equally likely, so the mazes have no bias in any direction, but the
+// first walks across an almost empty grid can take a long time on large mazes
+class WilsonMazeGenerator implements MazeGenerator {
+  public MazeGrid generate(int width, int height, long seed) {
+    MazeGrid grid = new MazeGrid(width, height, seed);
+    if (grid.numCells == 0) {
+      return grid;
+    }
+    SplittableRandom rand = new SplittableRandom(seed);
+    CellBitSet inMaze = new CellBitSet(grid.numCells);
+    // the direction the current walk last left each cell in; later visits overwrite earlier
+    // ones, which is what erases the loops
+    byte[] exit = new byte[grid.numCells];
+    byte[] choices = new byte[MazeGrid.DIRECTIONS.length];
+
+    inMaze.set(rand.nextInt(grid.numCells));
+    for (int first = 0; first < grid.numCells; first++) {
+      if (!inMaze.get(first)) {
+        // walk until the maze is reached
+        int cell = first;
+        while (!inMaze.get(cell)) {
+          int numChoices = 0;
+          for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+            if (grid.hasNeighbor(cell, MazeGrid.DIRECTIONS[i])) {
+              choices[numChoices] = MazeGrid.DIRECTIONS[i];
+              numChoices++;
+            }
+          }
+          exit[cell] = choices[rand.nextInt(numChoices)];
+          cell = grid.neighbor(cell, exit[cell]);
+        }
+
+        // follow the last exits from the first cell to carve the walk without its loops
+        cell = first;
+        while (!inMaze.get(cell)) {
+          inMaze.set(cell);
+          grid.carve(grid.edge(cell, exit[cell]));
+          cell = grid.neighbor(cell, exit[cell]);
+        }
+      }
+    }
+    return grid;
+  }
+}
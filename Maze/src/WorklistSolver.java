@@ -0,0 +1,64 @@
+import java.util.*;
+
+// solves a maze with depth-first or breadth-first search, which differ only in whether the
+// worklist is used as a stack or as a queue
+class WorklistSolver implements MazeSolver {
+  // does this solver search depth-first?
+  boolean depthFirst;
+
+  WorklistSolver(boolean depthFirst) {
+    this.depthFirst = depthFirst;
+  }
+
+  public MazeSolution solve(MazeGrid maze, int start, int goal) {
+    long startTime = System.nanoTime();
+    CellBitSet discovered = new CellBitSet(maze.numCells);
+    int[] parent = new int[maze.numCells];
+    int[] expanded = new int[maze.numCells];
+    int numExpanded = 0;
+    int peakFrontier = 1;
+    boolean found = false;
+
+    IntDeque worklist = new IntDeque();
+    worklist.addLast(start);
+    discovered.set(start);
+    parent[start] = -1;
+
+    while (!worklist.isEmpty() && !found) {
+      int next = worklist.removeFirst();
+      if (next == goal) {
+        // target cell -- win!
+        found = true;
+      }
+      else {
+        expanded[numExpanded] = next;
+        numExpanded++;
+
+        // add all valid neighbors of next to the worklist, to the front for DFS and the back
+        // for BFS
+        for (int i = 0; i < MazeGrid.DIRECTIONS.length; i++) {
+          byte dir = MazeGrid.DIRECTIONS[i];
+          int neighbor = maze.neighbor(next, dir);
+          if (maze.isOpen(next, dir) && !discovered.get(neighbor)) {
+            discovered.set(neighbor);
+            parent[neighbor] = next;
+            if (this.depthFirst) {
+              worklist.addFirst(neighbor);
+            }
+            else {
+              worklist.addLast(neighbor);
+            }
+          }
+        }
+        peakFrontier = Math.max(peakFrontier, worklist.size);
+      }
+    }
+
+    int[] path = new int[0];
+    if (found) {
+      path = MazeSolution.pathTo(parent, goal);
+    }
+    return new MazeSolution(path, Arrays.copyOf(expanded, numExpanded), peakFrontier,
+        System.nanoTime() - startTime);
+  }
+}